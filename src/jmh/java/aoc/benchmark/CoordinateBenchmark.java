@@ -0,0 +1,109 @@
+package aoc.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import aoc.Coordinate;
+import aoc.Direction;
+
+/**
+ * The {@link Coordinate} helpers, on square grids of various sizes, of which
+ * about a quarter of the cells are marked with a {@code #}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CoordinateBenchmark {
+
+    /** The number of rows and columns in the grid. */
+    @Param({ "32", "256", "1024" })
+    private int size;
+
+    private List<String> lines;
+
+    /** The marked cells of the grid. */
+    private Set<Coordinate> coordinates;
+
+
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(size);
+        lines = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            StringBuilder line = new StringBuilder(size);
+            for (int column = 0; column < size; column++)
+                line.append(random.nextInt(4) == 0 ? '#' : '.');
+            lines.add(line.toString());
+        }
+        coordinates = Coordinate.findCoordinates(lines);
+    }
+
+
+
+    @Benchmark
+    public void of(Blackhole blackhole) {
+        for (int row = 1; row <= size; row++)
+            for (int column = 1; column <= size; column++)
+                blackhole.consume(Coordinate.of(row, column));
+    }
+
+
+
+    @Benchmark
+    public void translateByCoordinate(Blackhole blackhole) {
+        Coordinate by = Direction.RIGHT_DOWN.getTranslation();
+        for (Coordinate coordinate : coordinates)
+            blackhole.consume(coordinate.translate(by));
+    }
+
+
+
+    @Benchmark
+    public void translateByDirection(Blackhole blackhole) {
+        for (Coordinate coordinate : coordinates)
+            blackhole.consume(coordinate.translate(Direction.RIGHT_DOWN, 1));
+    }
+
+
+
+    @Benchmark
+    public void findAdjacent(Blackhole blackhole) {
+        for (Coordinate coordinate : coordinates)
+            blackhole.consume(coordinate.findAdjacent());
+    }
+
+
+
+    @Benchmark
+    public Set<Coordinate> findCoordinates() {
+        return Coordinate.findCoordinates(lines);
+    }
+
+
+
+    @Benchmark
+    public String printMap() {
+        return Coordinate.printMap(size, size, coordinates);
+    }
+
+}
@@ -0,0 +1,76 @@
+package aoc.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoc.FileUtils;
+
+/**
+ * {@link FileUtils#readFile(String)}, for files of various numbers of lines.
+ * <p>
+ * The files are generated in the directory given by the
+ * {@code aoc.benchmark.inputs} system property, which must be on the
+ * classpath. The {@code jmh} Gradle task sets this up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class FileUtilsBenchmark {
+
+    /** The number of lines in the file. */
+    @Param({ "1000", "100000", "1000000" })
+    private int lines;
+
+    /** The name of the file, on the classpath. */
+    private String fileName;
+
+
+
+    @Setup
+    public void setUp() throws IOException {
+        String directory = System.getProperty("aoc.benchmark.inputs");
+        if (directory == null)
+            throw new IllegalStateException("The aoc.benchmark.inputs system property is not set");
+
+        fileName = "readFile-" + lines + ".txt";
+        Path file = Path.of(directory, fileName);
+        if (!Files.exists(file)) {
+            // Lines of 20 random digits, like most of the puzzle inputs
+            Random random = new Random(lines);
+            Files.write(file, Stream.generate(() -> random.ints(20, 0, 10)
+                                                          .mapToObj(Integer::toString)
+                                                          .collect(Collectors.joining()))
+                                    .limit(lines)
+                                    .toList());
+        }
+    }
+
+
+
+    @Benchmark
+    public List<String> readFile() {
+        return FileUtils.readFile(fileName);
+    }
+
+}
@@ -0,0 +1,50 @@
+package aoc.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The time taken to solve part 2 of each day, from its parsed real input.
+ * <p>
+ * Day09 (minutes per solution) and Day10 (which does not finish on the real
+ * input) are left out by default. They can still be selected explicitly, e.g.
+ * with {@code -p day=Day09 -f 1 -wi 0 -i 1 -bm ss}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class Part2Benchmark extends PuzzleState {
+
+    @Param({ "Day01", "Day02", "Day03", "Day04", "Day05", "Day06", "Day07", "Day08", "Day11" })
+    private String day;
+
+
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        setUp(day);
+    }
+
+
+
+    @Benchmark
+    public void part2(Blackhole blackhole) {
+        blackhole.consume(puzzle.part2(input));
+    }
+
+}
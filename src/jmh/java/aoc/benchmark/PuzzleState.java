@@ -0,0 +1,44 @@
+package aoc.benchmark;
+
+import java.util.List;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.FileUtils;
+import aoc.Puzzle;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * A puzzle, with its real input read and parsed, to be benchmarked.
+ */
+abstract class PuzzleState {
+
+    Puzzle<Object> puzzle;
+
+    /** The lines of the real input. */
+    List<String> lines;
+
+    /** The parsed real input, shared by the parts. */
+    Object input;
+
+
+
+    /**
+     * Create the puzzle and read its input, outside of the measured code.
+     *
+     * @param day The simple name of the day's class, e.g. {@code Day01}.
+     */
+    @SuppressWarnings("unchecked")
+    void setUp(String day) throws ReflectiveOperationException {
+        // The days log their results, which would interfere with the measurements
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("aoc").setLevel(Level.WARN);
+
+        puzzle = (Puzzle<Object>) Class.forName("aoc._2025." + day).getDeclaredConstructor().newInstance();
+        lines = FileUtils.readFile(puzzle.inputFile());
+        if (lines.isEmpty())
+            throw new IllegalStateException("No input for " + day);
+        input = puzzle.parse(lines);
+    }
+
+}
@@ -0,0 +1,60 @@
+package aoc.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.Range;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoc.RangeUtils;
+
+/**
+ * {@link RangeUtils#union(Range, Range)}, folded over chains of overlapping
+ * ranges of various lengths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RangeUtilsBenchmark {
+
+    /** The number of ranges in the chain. */
+    @Param({ "100", "10000", "1000000" })
+    private int count;
+
+    /** Ranges which each overlap the next. */
+    private List<Range<Long>> ranges;
+
+
+
+    @Setup
+    public void setUp() {
+        ranges = new ArrayList<>(count);
+        for (long i = 0; i < count; i++)
+            ranges.add(Range.of(i * 10, i * 10 + 15));
+    }
+
+
+
+    @Benchmark
+    public Range<Long> union() {
+        Range<Long> union = ranges.getFirst();
+        for (Range<Long> range : ranges)
+            union = RangeUtils.union(union, range);
+        return union;
+    }
+
+}
@@ -4,76 +4,45 @@ import java.util.List;
 import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
 /**
  * https://adventofcode.com/2025/day/${day}
- * 
+ *
  * @author Paul Cormier
  *
  */
-public class Day${day} {
+public class Day${day} implements Puzzle<List<String>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day${day}.class);
 
-    private static final String INPUT_TXT = "input/Day${day}.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day${day}.txt";
-
     public static void main(String[] args) {
-
-        var resultMessage = "{}";
-        
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 1_234_567_890;
-        var testResult = part1(testLines);
-        
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "{}";
-        
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 1_234_567_890;
-        testResult = part2(testLines);
-        
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        log.info(resultMessage, part2(lines));
+        PuzzleRunner.of(new Day${day}(), log)
+                    .part1("{}", 1_234_567_890)
+                    .part2("{}", 1_234_567_890)
+                    .run();
     }
 
     /**
-     * 
+     *
      * @param lines The lines read from the input.
+     * @return The parsed input, shared by both parts.
+     */
+    @Override
+    public List<String> parse(final List<String> lines) {
+        return lines;
+    }
+
+    /**
+     *
+     * @param lines The parsed input.
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final List<String> lines) {
 
         var map = Coordinate.mapCoordinates(lines);
         var rows = lines.size();
@@ -83,13 +52,14 @@ public class Day${day} {
     }
 
     /**
-     * 
-     * @param lines The lines read from the input.
+     *
+     * @param lines The parsed input.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
+    @Override
+    public long part2(final List<String> lines) {
 
         return -1;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,338 @@
+package aoc;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Solves many inputs for the same day in one JVM, concurrently on a
+ * work-stealing {@link ForkJoinPool}, and streams out a JSON line for each
+ * input as soon as it is solved, with the time each stage took.
+ * <p>
+ * Each input is parsed once for both parts, and inputs with the same content
+ * which are solved at the same time share one parsed input, so a duplicate is
+ * only solved, not parsed again (its {@code "parseMillis"} is then 0 and
+ * {@code "parseShared"} is {@code true}). A parsed input is dropped once the
+ * last of the inputs sharing it is solved, so only the inputs being solved
+ * are held in memory. The parts must not modify their input (see
+ * {@link Puzzle}), so they can safely share it.
+ * <p>
+ * Each stage of each input, parsing it and each part, runs on the pool's
+ * thread with a {@link SearchContext} whose deadline is the timeout, so a
+ * search stops itself once the deadline passes ({@code "status": "STOPPED"}).
+ * A stage which doesn't check its deadline runs to the end.
+ * <p>
+ * The inputs are either every file in a directory, or the files matching a
+ * glob, e.g. {@code inputs/Day09-*.txt}. The JSON lines are written to
+ * standard output unless {@code --output} is given, and the days' own logging
+ * is turned off.
+ * <p>
+ * Usage: {@code Batch <day> <directory|glob> [--threads n]
+ * [--skip part1,part2] [--timeout seconds] [--output file]}
+ */
+public final class Batch {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Batch.class);
+
+    private static final int YEAR = 2025;
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    private final int day;
+
+    private final ForkJoinPool pool;
+
+    private final List<String> skipped;
+
+    private final Duration timeout;
+
+    /** Where the results are written, one JSON object per line. */
+    private final PrintStream output;
+
+    /** The parsed inputs being solved, by the hash of their content, shared by duplicate inputs. */
+    private final Map<String, SharedInput> parsed = new ConcurrentHashMap<>();
+
+    /** The hashes of the content of every input read. */
+    private final Set<String> distinct = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger failures = new AtomicInteger();
+
+
+
+    /**
+     * @param day The day of the puzzle to solve.
+     * @param pool The pool to solve the inputs on.
+     * @param skipped The parts not to solve, i.e. {@code part1} or
+     *            {@code part2}.
+     * @param timeout The time after which a search in a stage of an input is
+     *            stopped.
+     * @param output Where to write the results.
+     */
+    public Batch(int day, ForkJoinPool pool, List<String> skipped, Duration timeout, PrintStream output) {
+        this.day = day;
+        this.pool = pool;
+        this.skipped = List.copyOf(skipped);
+        this.timeout = timeout;
+        this.output = output;
+    }
+
+
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            log.error("Usage: Batch <day> <directory|glob> [--threads n] [--skip part1,part2] [--timeout seconds] [--output file]");
+            System.exit(2);
+        }
+
+        int day = Integer.parseInt(args[0].replaceFirst("^Day", ""));
+        String inputs = args[1];
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> skipped = new ArrayList<>();
+        Duration timeout = DEFAULT_TIMEOUT;
+        Path outputFile = null;
+
+        for (int i = 2; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                case "--skip" -> skipped.addAll(Arrays.asList(args[++i].split(",")));
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--output" -> outputFile = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("aoc._" + YEAR).setLevel(Level.OFF);
+
+        List<Path> files = find(inputs);
+        if (outputFile != null && outputFile.getParent() != null)
+            Files.createDirectories(outputFile.getParent());
+
+        try (PrintStream output = outputFile == null ? System.out : new PrintStream(Files.newOutputStream(outputFile), false);
+                ForkJoinPool pool = new ForkJoinPool(threads)) {
+            Batch batch = new Batch(day, pool, skipped, timeout, output);
+            long start = System.nanoTime();
+            int failed = batch.run(files);
+            log.info("Solved {} inputs for day {} on {} threads in {} ({} failed, {} distinct)",
+                     files.size(), day, threads, PuzzleRunner.formatNanos(System.nanoTime() - start), failed, batch.distinct.size());
+            if (outputFile != null)
+                log.info("Wrote the results to {}", outputFile);
+        }
+    }
+
+
+
+    /**
+     * Solve each input, writing its result as soon as it is solved, so the
+     * results are not in the same order as the files.
+     *
+     * @param files The input files.
+     * @return The number of inputs which could not be solved.
+     */
+    public int run(List<Path> files) {
+        files.stream()
+             .map(file -> pool.submit(() -> solve(file)))
+             .toList()
+             .forEach(ForkJoinTask::join);
+        output.flush();
+        return failures.get();
+    }
+
+
+
+    /**
+     * Read, parse and solve an input, and write its result.
+     */
+    private void solve(Path file) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"input\": ").append(quote(file.toString()));
+        Puzzle<Object> puzzle = Puzzles.create(YEAR, day).orElseThrow(() -> new IllegalArgumentException("No puzzle for day " + day));
+
+        String hash = null;
+        try {
+            byte[] content = Files.readAllBytes(file);
+            List<String> lines = new String(content, StandardCharsets.UTF_8).lines().toList();
+            hash = FileUtils.sha256(content);
+            distinct.add(hash);
+
+            // Only the first of the inputs with the same content being solved parses it
+            SharedInput parse = new SharedInput();
+            SharedInput shared = parsed.compute(hash, (key, existing) -> (existing == null ? parse : existing).share());
+            long parseNanos = 0;
+            if (shared == parse) {
+                long start = System.nanoTime();
+                try {
+                    parse.input.complete(stage(file + " parse", () -> puzzle.parse(lines)));
+                } catch (Throwable e) {
+                    parse.input.completeExceptionally(e);
+                }
+                parseNanos = System.nanoTime() - start;
+            }
+            Object input = shared.input.join();
+            json.append(", \"lines\": ").append(lines.size())
+                .append(", \"parseShared\": ").append(shared != parse)
+                .append(", \"parseMillis\": ").append(parseNanos / 1e6);
+
+            for (int part = 1; part <= 2; part++) {
+                if (skipped.contains("part" + part))
+                    continue;
+                long start = System.nanoTime();
+                boolean first = part == 1;
+                long answer = stage(file + " part " + part, () -> first ? puzzle.part1(input) : puzzle.part2(input));
+                json.append(", \"part").append(part).append("\": \"").append(answer).append('"')
+                    .append(", \"part").append(part).append("Millis\": ").append((System.nanoTime() - start) / 1e6);
+            }
+            json.append(", \"status\": \"SOLVED\"}");
+        } catch (Throwable e) {
+            // Even an error, such as running out of stack, only fails this input
+            failures.incrementAndGet();
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            String status = cause instanceof SearchStoppedException ? "STOPPED" : "FAILED";
+            json.append(", \"status\": \"").append(status).append("\", \"error\": ").append(quote(cause.toString())).append('}');
+        } finally {
+            if (hash != null)
+                parsed.computeIfPresent(hash, (key, shared) -> shared.release());
+        }
+
+        synchronized (output) {
+            output.println(json);
+        }
+    }
+
+
+
+    /**
+     * Run a stage of an input on the current thread, with a
+     * {@link SearchContext} whose deadline is the timeout.
+     *
+     * @return The stage's result.
+     * @throws SearchStoppedException If the stage's search was stopped at the
+     *             deadline.
+     * @throws Exception The exception the stage threw.
+     */
+    private <T> T stage(String name, Callable<T> task) throws Exception {
+        try (SearchContext context = SearchContext.withDeadline(name, timeout)) {
+            return context.call(task);
+        }
+    }
+
+
+
+    /**
+     * @param inputs A directory, or a glob such as {@code inputs/*.txt}.
+     * @return The regular files in the directory, or matching the glob, in
+     *         order.
+     * @throws IOException If the files can't be listed.
+     */
+    static List<Path> find(String inputs) throws IOException {
+        Path directory = Path.of(inputs);
+        if (Files.isDirectory(directory))
+            try (Stream<Path> files = Files.list(directory)) {
+                return files.filter(Files::isRegularFile).sorted().toList();
+            }
+
+        // Search from the last directory before the first wildcard
+        Path glob = Path.of(inputs);
+        Path root = glob.isAbsolute() ? glob.getRoot() : Path.of("");
+        for (Path part : glob) {
+            if (part.toString().matches(".*[*?\\[{].*"))
+                break;
+            root = root.resolve(part);
+        }
+        if (root.equals(glob))
+            return Files.isRegularFile(glob) ? List.of(glob) : List.of();
+
+        // A relative glob has to match the paths relative to the working directory
+        boolean relative = root.toString().isEmpty();
+        Path start = relative ? Path.of(".") : root;
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + inputs);
+        try (Stream<Path> files = Files.walk(start)) {
+            return files.filter(Files::isRegularFile)
+                        .map(f -> relative ? start.relativize(f) : f)
+                        .filter(matcher::matches)
+                        .sorted()
+                        .toList();
+        }
+    }
+
+
+
+    /**
+     * @return The value as a JSON string, with the quotes, backslashes and
+     *         control characters in it escaped.
+     */
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> quoted.append("\\\"");
+                case '\\' -> quoted.append("\\\\");
+                case '\n' -> quoted.append("\\n");
+                case '\r' -> quoted.append("\\r");
+                case '\t' -> quoted.append("\\t");
+                default -> {
+                    if (c < 0x20)
+                        quoted.append("\\u%04x".formatted((int) c));
+                    else
+                        quoted.append(c);
+                }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+
+
+    /**
+     * A parsed input, and the number of inputs with the same content being
+     * solved which share it. The count is only changed while the map holds
+     * the entry's lock, in {@link ConcurrentHashMap#compute}.
+     */
+    private static final class SharedInput {
+
+        private final CompletableFuture<Object> input = new CompletableFuture<>();
+
+        private int users;
+
+
+
+        private SharedInput share() {
+            users++;
+            return this;
+        }
+
+
+
+        /**
+         * @return This, or {@code null} to remove it from the map once the last
+         *         input sharing it is done.
+         */
+        private SharedInput release() {
+            return --users == 0 ? null : this;
+        }
+    }
+
+}
@@ -0,0 +1,216 @@
+package aoc;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * The state of a long-running search, which is saved to a file now and then,
+ * so that if the search is stopped, or the JVM dies, it can resume from where
+ * it was, rather than starting again.
+ * <p>
+ * The search keeps its state up to date with {@link #set(String, long)},
+ * which only updates a map, and calls {@link #saveIfDue()} wherever it is
+ * safe to resume from, which only reads the clock until
+ * {@link #INTERVAL} has passed since the last save. The state is saved again
+ * when the checkpoint is {@link #close() closed}, e.g. when the search is
+ * stopped, unless the search was {@link #complete() completed}, in which case
+ * the file is deleted.
+ * <p>
+ * The files are kept in the directory given by the {@code aoc.checkpoints}
+ * system property, {@code build/checkpoints} by default, and are named for
+ * the search and a hash of its input, so a changed input starts again.
+ * Resuming changes how long a search takes, so the benchmarks turn
+ * checkpoints off with {@code -Daoc.checkpoints=false}, which keeps the state
+ * in memory only.
+ */
+public final class Checkpoint implements AutoCloseable {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Checkpoint.class);
+
+    /** The directory the checkpoints are saved in, or {@code null} to save none. */
+    private static final Path DIRECTORY = directory(System.getProperty("aoc.checkpoints", "build/checkpoints"));
+
+    /** How often the state is saved, at most. */
+    public static final Duration INTERVAL = Duration.ofSeconds(10);
+
+    private final String search;
+
+    /** The file the state is saved in, or {@code null} if checkpoints are off. */
+    private final Path file;
+
+    private final Map<String, Long> state = new LinkedHashMap<>();
+
+    /** When the state is next due to be saved, from {@link System#nanoTime()}. */
+    private long nextSave = System.nanoTime() + INTERVAL.toNanos();
+
+    private boolean complete;
+
+
+
+    private Checkpoint(String search, Path file) {
+        this.search = search;
+        this.file = file;
+    }
+
+
+
+    /**
+     * Open the checkpoint of a search, with the state which was last saved
+     * for the same input, if there is one.
+     *
+     * @param search A description of the search, e.g. "Day09 part 2".
+     * @param input The input of the search, or anything which identifies it,
+     *            e.g. the parsed input's string form.
+     * @return The checkpoint.
+     */
+    public static Checkpoint open(String search, String input) {
+        if (DIRECTORY == null)
+            return new Checkpoint(search, null);
+
+        String name = search.replaceAll("\\W+", "-") + "-" + FileUtils.sha256(input.getBytes(StandardCharsets.UTF_8)).substring(0, 16) + ".properties";
+        Checkpoint checkpoint = new Checkpoint(search, DIRECTORY.resolve(name));
+        checkpoint.load();
+        return checkpoint;
+    }
+
+
+
+    /**
+     * @param key The name of a value in the state.
+     * @param defaultValue The value to use if there is no saved value.
+     * @return The value, as last saved, or set.
+     */
+    public long get(String key, long defaultValue) {
+        return state.getOrDefault(key, defaultValue);
+    }
+
+
+
+    /**
+     * @param key The name of a value in the state.
+     * @return {@code true} if the state has a value for the key.
+     */
+    public boolean has(String key) {
+        return state.containsKey(key);
+    }
+
+
+
+    /**
+     * @param key The name of a value in the state.
+     * @param value The new value, to be saved with the next checkpoint.
+     */
+    public void set(String key, long value) {
+        state.put(key, value);
+    }
+
+
+
+    /**
+     * Save the state if it hasn't been saved for a while. The search should
+     * only call this where it could resume from its current state.
+     */
+    public void saveIfDue() {
+        if (System.nanoTime() - nextSave >= 0)
+            save();
+    }
+
+
+
+    /**
+     * Mark the search as finished, so its checkpoint is deleted when it is
+     * closed.
+     */
+    public void complete() {
+        complete = true;
+    }
+
+
+
+    /**
+     * Delete the checkpoint if the search was completed, or save its state if
+     * it was not.
+     */
+    @Override
+    public void close() {
+        if (file == null)
+            return;
+        if (complete) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete {}", file, e);
+            }
+        } else {
+            save();
+        }
+    }
+
+
+
+    private void load() {
+        if (!Files.exists(file))
+            return;
+
+        // Nothing is resumed unless every value is a number
+        Properties properties = new Properties();
+        Map<String, Long> saved = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            for (String key : properties.stringPropertyNames())
+                saved.put(key, Long.valueOf(properties.getProperty(key)));
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring the unreadable checkpoint {}", file, e);
+            return;
+        }
+        state.putAll(saved);
+        log.info("Resuming {} from {}", search, file);
+    }
+
+
+
+    /**
+     * Write the state to a new file, then move it over the old one, so a
+     * checkpoint is never left half written.
+     */
+    private void save() {
+        nextSave = System.nanoTime() + INTERVAL.toNanos();
+        if (file == null)
+            return;
+
+        Properties properties = new Properties();
+        state.forEach((key, value) -> properties.setProperty(key, value.toString()));
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+                properties.store(writer, search);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Losing a checkpoint only loses time, so the search carries on
+            log.warn("Could not save the checkpoint {}", file, e);
+        }
+    }
+
+
+
+    private static Path directory(String property) {
+        return property.isBlank() || property.equals("false") ? null : Path.of(property);
+    }
+
+}
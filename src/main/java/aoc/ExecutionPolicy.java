@@ -0,0 +1,242 @@
+package aoc;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.IntStream;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * How to run independent items of work, e.g. the lines of an input: one after
+ * another, as a parallel stream, or as fork/join tasks.
+ * <p>
+ * Running in parallel has a fixed cost, which is more than small inputs save,
+ * so the policy is {@link #choose(String, int, long, boolean) chosen} from
+ * an estimate of the work and a one-time calibration of the machine: how many
+ * processors there are, and how long it takes to hand out work to them. Work
+ * which is worth running in parallel is run as a parallel stream if its items
+ * all cost about the same, or as fork/join tasks, one per item, if they don't,
+ * so idle threads can steal the items left over from slow ones. The first
+ * task to choose a policy pays for the calibration, which takes a few
+ * milliseconds.
+ * <p>
+ * The choice for each task is logged on each run: at info level when it is
+ * first made, and whenever it changes, and at debug level otherwise.
+ * {@code -Daoc.execution=SEQUENTIAL} (or either of the others)
+ * overrides the choice, e.g. for comparing them.
+ */
+public enum ExecutionPolicy {
+
+    SEQUENTIAL,
+    PARALLEL_STREAM,
+    FORK_JOIN;
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(ExecutionPolicy.class);
+
+    /** How many times the overhead of running in parallel the work must cost. */
+    private static final int MIN_GAIN = 10;
+
+    /** Items per processor needed for a parallel stream to split evenly. */
+    private static final int ITEMS_PER_PROCESSOR = 4;
+
+    /** The policy last chosen for each task, to log the changes at info level. */
+    private static final Map<String, ExecutionPolicy> chosen = new ConcurrentHashMap<>();
+
+
+
+    /**
+     * Choose how to run a task's items of work.
+     *
+     * @param task A description of the task, for the log, e.g. "Day03 part 1".
+     * @param items The number of items.
+     * @param nanosPerItem A rough estimate of the time each item takes, on
+     *            average, when run sequentially.
+     * @param uniform {@code true} if the items all cost about the same.
+     * @return The policy to run the items with.
+     */
+    public static ExecutionPolicy choose(String task, int items, long nanosPerItem, boolean uniform) {
+        ExecutionPolicy policy = Calibration.OVERRIDE != null ? Calibration.OVERRIDE
+                                                             : choose(items, nanosPerItem, uniform, Calibration.PROCESSORS,
+                                                                      Calibration.OVERHEAD_NANOS);
+
+        String message = "{} runs {} items of ~{} ns each {}";
+        if (chosen.put(task, policy) != policy)
+            log.info(message, task, items, nanosPerItem, policy.description());
+        else
+            log.debug(message, task, items, nanosPerItem, policy.description());
+        return policy;
+    }
+
+
+
+    /**
+     * @param items The number of items.
+     * @param nanosPerItem The estimated time each item takes.
+     * @param uniform {@code true} if the items all cost about the same.
+     * @param processors The number of processors available.
+     * @param overheadNanos The cost of running work in parallel.
+     * @return The policy for the work.
+     */
+    static ExecutionPolicy choose(int items, long nanosPerItem, boolean uniform, int processors, long overheadNanos) {
+        if (processors < 2 || items < 2 || (double) items * nanosPerItem < MIN_GAIN * overheadNanos)
+            return SEQUENTIAL;
+        return uniform && items >= processors * ITEMS_PER_PROCESSOR ? PARALLEL_STREAM : FORK_JOIN;
+    }
+
+
+
+    /**
+     * Run each item of work, and combine their results.
+     *
+     * @param items The number of items, numbered from 0.
+     * @param work Runs an item, and returns its result.
+     * @param identity The result of no items.
+     * @param combine Combines two results. It must be associative.
+     * @return The combined results of the items.
+     */
+    public long reduce(int items, IntToLongFunction work, long identity, LongBinaryOperator combine) {
+        return switch (this) {
+            case SEQUENTIAL -> IntStream.range(0, items).mapToLong(work).reduce(identity, combine);
+            case PARALLEL_STREAM -> IntStream.range(0, items).parallel().mapToLong(work).reduce(identity, combine);
+            case FORK_JOIN -> ForkJoinPool.commonPool().invoke(new Items(0, items, work, identity, combine));
+        };
+    }
+
+
+
+    /**
+     * @param items The number of items, numbered from 0.
+     * @param work Runs an item, and returns its result.
+     * @return The sum of the items' results.
+     */
+    public long sum(int items, IntToLongFunction work) {
+        return reduce(items, work, 0, Long::sum);
+    }
+
+
+
+    /**
+     * @param items The number of items, numbered from 0.
+     * @param work Runs an item, and returns its result.
+     * @return The largest of the items' results, or {@link Long#MIN_VALUE} if
+     *         there are none.
+     */
+    public long max(int items, IntToLongFunction work) {
+        return reduce(items, work, Long.MIN_VALUE, Math::max);
+    }
+
+
+
+    private String description() {
+        return switch (this) {
+            case SEQUENTIAL -> "sequentially";
+            case PARALLEL_STREAM -> "as a parallel stream";
+            case FORK_JOIN -> "as fork/join tasks";
+        };
+    }
+
+
+
+    /**
+     * This is outside of {@link Calibration}, as the worker threads couldn't
+     * run its lambdas while it is being initialised.
+     *
+     * @return The least time, after warming up, to run a trivial parallel
+     *         stream, and the same as fork/join tasks.
+     */
+    private static long measureOverhead(int processors) {
+        int items = processors * ITEMS_PER_PROCESSOR;
+        long least = Long.MAX_VALUE;
+        for (int round = 0; round < 200; round++) {
+            long start = System.nanoTime();
+            IntStream.range(0, items).parallel().mapToLong(i -> i).sum();
+            FORK_JOIN.sum(items, i -> i);
+            least = Math.min(least, (System.nanoTime() - start) / 2);
+        }
+        return least;
+    }
+
+
+
+    /**
+     * Splits a range of items in half until there is one item per task.
+     */
+    @SuppressWarnings("serial")
+    private static final class Items extends RecursiveTask<Long> {
+
+        private final int from;
+
+        private final int to;
+
+        private final IntToLongFunction work;
+
+        private final long identity;
+
+        private final LongBinaryOperator combine;
+
+
+
+        Items(int from, int to, IntToLongFunction work, long identity, LongBinaryOperator combine) {
+            this.from = from;
+            this.to = to;
+            this.work = work;
+            this.identity = identity;
+            this.combine = combine;
+        }
+
+
+
+        @Override
+        protected Long compute() {
+            if (to - from == 0)
+                return identity;
+            if (to - from == 1)
+                return work.applyAsLong(from);
+
+            int middle = (from + to) >>> 1;
+            Items right = new Items(middle, to, work, identity, combine);
+            right.fork();
+            long left = new Items(from, middle, work, identity, combine).compute();
+            return combine.applyAsLong(left, right.join());
+        }
+    }
+
+
+
+    /**
+     * The one-time calibration of the machine, done when a policy is first
+     * chosen.
+     */
+    private static final class Calibration {
+
+        static final ExecutionPolicy OVERRIDE = override(System.getProperty("aoc.execution"));
+
+        static final int PROCESSORS = Runtime.getRuntime().availableProcessors();
+
+        /** The time to hand out trivial work to every processor, and collect it. */
+        static final long OVERHEAD_NANOS = PROCESSORS < 2 || OVERRIDE != null ? 0 : measureOverhead(PROCESSORS);
+
+        static {
+            if (OVERRIDE != null)
+                log.info("The execution policy is set to {}", OVERRIDE);
+            else if (PROCESSORS < 2)
+                log.info("Only one processor is available, so everything runs sequentially");
+            else
+                log.info("Calibrated: {} processors, running in parallel costs ~{}", PROCESSORS, PuzzleRunner.formatNanos(OVERHEAD_NANOS));
+        }
+
+
+
+        private static ExecutionPolicy override(String property) {
+            return property == null || property.isBlank() ? null : ExecutionPolicy.valueOf(property.trim().toUpperCase());
+        }
+    }
+
+}
@@ -1,12 +1,25 @@
 package aoc;
 
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Useful methods for reading files.
@@ -31,9 +44,9 @@ public final class FileUtils {
      *         an empty list if there were any errors opening the file.
      */
     public static List<String> readFile(final String fileName) {
-        try {
-            return Files.readAllLines(Paths.get(ClassLoader.getSystemResource(fileName).toURI()));
-        } catch (IOException | URISyntaxException e) {
+        try (BufferedReader reader = open(fileName)) {
+            return reader.lines().collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
             return Collections.emptyList();
         }
@@ -51,11 +64,141 @@ public final class FileUtils {
      */
     public static Stream<String> readFileToStream(final String fileName) {
         try {
-            return Files.lines(Paths.get(ClassLoader.getSystemResource(fileName).toURI()));
-        } catch (IOException | URISyntaxException e) {
+            BufferedReader reader = open(fileName);
+            return reader.lines().onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException e) {
             e.printStackTrace();
             return Stream.empty();
         }
     }
 
+    /**
+     * Open a file on the classpath as a stream, rather than as a path, so that
+     * it can be read from a jar too.
+     * 
+     * @param fileName
+     *            The name of a file which can be found on the classpath.
+     * @return A reader for the file.
+     * @throws IOException
+     *             If the file can't be found.
+     */
+    private static BufferedReader open(final String fileName) throws IOException {
+        InputStream input = ClassLoader.getSystemResourceAsStream(fileName);
+        if (input == null)
+            throw new FileNotFoundException(fileName + " is not on the classpath");
+        return new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read a file, available on the classpath, and split it into sections
+     * separated by blank lines.
+     * 
+     * @param fileName
+     *            The name of a file which can be found on the classpath.
+     * @return A {@link Stream} of the sections of the file, as described by
+     *         {@link #sections(List)}. Returns an empty stream if there were
+     *         any errors opening the file.
+     * @see #sections(List)
+     */
+    public static Stream<List<String>> readSections(final String fileName) {
+        return sections(readFile(fileName));
+    }
+
+    /**
+     * Split lines into sections separated by one or more blank lines. The
+     * sections are found lazily, as the stream is consumed, and each one is a
+     * {@link List#subList(int, int) view} of the given lines, so no lines are
+     * copied or scanned more than once.
+     * 
+     * @param lines
+     *            The lines to split into sections.
+     * @return A {@link Stream} of the non-empty sections of the lines, in
+     *         order.
+     */
+    public static Stream<List<String>> sections(final List<String> lines) {
+        Iterator<List<String>> sections = new Iterator<>() {
+
+            /** The index of the first line of the next section. */
+            private int start = skipBlankLines(lines, 0);
+
+            @Override
+            public boolean hasNext() {
+                return start < lines.size();
+            }
+
+            @Override
+            public List<String> next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                int end = start;
+                while (end < lines.size() && !lines.get(end).isBlank())
+                    end++;
+
+                List<String> section = lines.subList(start, end);
+                start = skipBlankLines(lines, end);
+                return section;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(sections, Spliterator.ORDERED | Spliterator.NONNULL),
+                                    false);
+    }
+
+    /**
+     * @return The index of the first line, at or after {@code from}, which is
+     *         not blank.
+     */
+    private static int skipBlankLines(final List<String> lines, final int from) {
+        int index = from;
+        while (index < lines.size() && lines.get(index).isBlank())
+            index++;
+        return index;
+    }
+
+    /**
+     * Hash some content, e.g. to name a file derived from an input, so a
+     * changed input gets a different file.
+     * 
+     * @param content
+     *            The content to hash.
+     * @return The SHA-256 hash of the content, in lower case hex.
+     */
+    public static String sha256(final byte[] content) {
+        return HexFormat.of().formatHex(sha256().digest(content));
+    }
+
+    /**
+     * Hash lines one at a time, without joining them first.
+     * 
+     * @param lines
+     *            The lines to hash, each of which is encoded as UTF-8 and
+     *            followed by a line feed.
+     * @return The SHA-256 hash of the lines, in lower case hex.
+     * @see #sha256(byte[])
+     */
+    public static String sha256(final List<String> lines) {
+        MessageDigest digest = sha256();
+        for (String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM has to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
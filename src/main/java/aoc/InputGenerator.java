@@ -0,0 +1,40 @@
+package aoc;
+
+import java.util.List;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates synthetic input for a {@link Puzzle}, in the same format as its
+ * real input but at any scale.
+ * <p>
+ * A generator must keep the structural guarantees which the puzzle's solution
+ * relies on (e.g. that the input is acyclic, or that every target is
+ * reachable), so that anything which goes wrong on a generated input is a
+ * problem with the solution rather than with the input.
+ */
+@FunctionalInterface
+public interface InputGenerator {
+
+    /**
+     * @param random The source of randomness, which is the only source, so the
+     *            same seed always generates the same input.
+     * @param size The scale of the input. What it counts depends on the puzzle,
+     *            e.g. the number of lines, or the side of a grid.
+     * @return The lines of the generated input.
+     */
+    List<String> generate(RandomGenerator random, int size);
+
+
+
+    /**
+     * @param seed The seed for the source of randomness.
+     * @param size The scale of the input.
+     * @return The lines of the generated input, which are always the same for
+     *         the same seed and size.
+     */
+    default List<String> generate(long seed, int size) {
+        return generate(new Random(seed), size);
+    }
+
+}
@@ -0,0 +1,125 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A compact set of {@code long} values, for tracking which of a large and
+ * sparse domain of values have been seen.
+ * <p>
+ * Values are grouped into chunks of 2^16 by their upper 48 bits. Each chunk
+ * stores its lower 16 bits in a sorted {@code char[]} while it is sparse (2
+ * bytes per value), and switches to a 8 KiB bitmap once it holds more than
+ * 4096 values, as in a Roaring bitmap.
+ */
+public final class LongBitmap {
+
+    /** The number of values above which a chunk is stored as a bitmap. */
+    private static final int ARRAY_LIMIT = 4096;
+
+    private final Map<Long, Chunk> chunks = new HashMap<>();
+
+    private long size;
+
+
+
+    /**
+     * Add a value to the set.
+     *
+     * @param value The value to add.
+     * @return {@code true} if the value was not already in the set.
+     */
+    public boolean add(long value) {
+        Chunk chunk = chunks.computeIfAbsent(value >>> 16, k -> new Chunk());
+        boolean added = chunk.add((char) value);
+        if (added)
+            size++;
+        return added;
+    }
+
+
+
+    /**
+     * @param value The value to look for.
+     * @return {@code true} if the value has been added to the set.
+     */
+    public boolean contains(long value) {
+        Chunk chunk = chunks.get(value >>> 16);
+        return chunk != null && chunk.contains((char) value);
+    }
+
+
+
+    /**
+     * @return The number of distinct values in the set.
+     */
+    public long size() {
+        return size;
+    }
+
+
+
+    @Override
+    public String toString() {
+        return "LongBitmap[%d values in %d chunks]".formatted(size, chunks.size());
+    }
+
+
+
+    /**
+     * The lower 16 bits of the values sharing the same upper 48 bits.
+     */
+    private static class Chunk {
+
+        /** The sorted values, while the chunk is sparse. */
+        private char[] values = new char[4];
+
+        /** The values, once the chunk is dense. */
+        private long[] bits;
+
+        private int size;
+
+
+
+        boolean add(char value) {
+            if (bits != null) {
+                long mask = 1L << value;
+                if ((bits[value >>> 6] & mask) != 0)
+                    return false;
+                bits[value >>> 6] |= mask;
+                return true;
+            }
+
+            int index = Arrays.binarySearch(values, 0, size, value);
+            if (index >= 0)
+                return false;
+
+            if (size == ARRAY_LIMIT) {
+                // Convert to a bitmap
+                bits = new long[1 << 10];
+                for (int i = 0; i < size; i++)
+                    bits[values[i] >>> 6] |= 1L << values[i];
+                values = null;
+                return add(value);
+            }
+
+            int insertAt = -index - 1;
+            if (size == values.length)
+                values = Arrays.copyOf(values, Math.min(size * 2, ARRAY_LIMIT));
+            System.arraycopy(values, insertAt, values, insertAt + 1, size - insertAt);
+            values[insertAt] = value;
+            size++;
+            return true;
+        }
+
+
+
+        boolean contains(char value) {
+            if (bits != null)
+                return (bits[value >>> 6] & (1L << value)) != 0;
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+    }
+
+}
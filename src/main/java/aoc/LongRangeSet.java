@@ -0,0 +1,379 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.Range;
+
+/**
+ * An immutable set of {@code long} values, stored as sorted, disjoint,
+ * non-adjacent inclusive ranges.
+ * <p>
+ * The set operations ({@link #union(LongRangeSet)},
+ * {@link #intersection(LongRangeSet)}, {@link #difference(LongRangeSet)},
+ * {@link #symmetricDifference(LongRangeSet)} and {@link #complement(Range)})
+ * each make a single forward pass over the ranges of both sets, so they run in
+ * time linear in the number of ranges, regardless of how many values those
+ * ranges cover.
+ */
+public final class LongRangeSet implements LongRangeView {
+
+    private static final LongRangeSet EMPTY = new LongRangeSet(new long[0], new long[0]);
+
+    /** The inclusive start of each range, in ascending order. */
+    private final long[] starts;
+
+    /** The inclusive end of each range, matching {@link #starts}. */
+    private final long[] ends;
+
+
+
+    private LongRangeSet(long[] starts, long[] ends) {
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+
+
+    /**
+     * @return A {@link LongRangeSet} containing no values.
+     */
+    public static LongRangeSet empty() {
+        return EMPTY;
+    }
+
+
+
+    /**
+     * Create a {@link LongRangeSet} containing a single range of values.
+     *
+     * @param start The inclusive start of the range.
+     * @param end The inclusive end of the range.
+     * @return A {@link LongRangeSet} containing the values from {@code start}
+     *         to {@code end}, or an empty set if {@code end} is less than
+     *         {@code start}.
+     */
+    public static LongRangeSet of(long start, long end) {
+        if (end < start)
+            return EMPTY;
+        return new LongRangeSet(new long[] { start }, new long[] { end });
+    }
+
+
+
+    /**
+     * Consolidate a collection of (possibly overlapping) ranges into a
+     * {@link LongRangeSet}. Overlapping and adjacent ranges are merged.
+     *
+     * @param ranges The ranges to consolidate. Must not be {@code null}.
+     * @return A {@link LongRangeSet} containing every value in any of the given
+     *         ranges.
+     */
+    public static LongRangeSet of(Collection<Range<Long>> ranges) {
+        Builder builder = new Builder(ranges.size());
+        ranges.stream()
+              .sorted(Comparator.comparing(Range::getMinimum))
+              .forEachOrdered(r -> builder.add(r.getMinimum(), r.getMaximum()));
+        return builder.build();
+    }
+
+
+
+    /**
+     * Parse lines of the form {@code start-end} into a consolidated
+     * {@link LongRangeSet}.
+     *
+     * @param lines The lines to parse, each containing one range.
+     * @return A {@link LongRangeSet} containing every value in any of the
+     *         parsed ranges.
+     */
+    public static LongRangeSet parse(List<String> lines) {
+        return of(lines.stream()
+                       .map(l -> Range.of(Long.valueOf(l.substring(0, l.indexOf('-'))),
+                                          Long.valueOf(l.substring(l.indexOf('-') + 1))))
+                       .toList());
+    }
+
+
+
+    /**
+     * Create a {@link LongRangeSet} from ranges that are already sorted,
+     * disjoint and non-adjacent. The arrays are used as is, and must not be
+     * modified afterwards.
+     *
+     * @param starts The inclusive start of each range, in ascending order.
+     * @param ends The inclusive end of each range.
+     * @return A {@link LongRangeSet} backed by the given arrays.
+     */
+    static LongRangeSet ofSorted(long[] starts, long[] ends) {
+        return starts.length == 0 ? EMPTY : new LongRangeSet(starts, ends);
+    }
+
+
+
+    /**
+     * @return The number of disjoint ranges in this set.
+     */
+    public int rangeCount() {
+        return starts.length;
+    }
+
+
+
+    /**
+     * @param index The index of the range, from 0 to {@link #rangeCount()}.
+     * @return The inclusive start of the range at the given index.
+     */
+    public long getStart(int index) {
+        return starts[index];
+    }
+
+
+
+    /**
+     * @param index The index of the range, from 0 to {@link #rangeCount()}.
+     * @return The inclusive end of the range at the given index.
+     */
+    public long getEnd(int index) {
+        return ends[index];
+    }
+
+
+
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+
+
+    /**
+     * @return The number of values in this set.
+     * @throws ArithmeticException if the number of values does not fit in a
+     *             {@code long}.
+     */
+    @Override
+    public long size() {
+        long size = 0;
+        for (int i = 0; i < starts.length; i++)
+            size = Math.addExact(size, Math.addExact(Math.subtractExact(ends[i], starts[i]), 1));
+        return size;
+    }
+
+
+
+    /**
+     * Determine whether a value is in this set, using a binary search of the
+     * ranges.
+     *
+     * @param value The value to look for.
+     * @return {@code true} if one of the ranges contains the value.
+     */
+    @Override
+    public boolean contains(long value) {
+        int index = Arrays.binarySearch(starts, value);
+        if (index >= 0)
+            return true;
+        // The range starting before the value is the only one which may contain it
+        int before = -index - 2;
+        return before >= 0 && ends[before] >= value;
+    }
+
+
+
+    /**
+     * @return The ranges of this set, in ascending order.
+     */
+    public Stream<Range<Long>> stream() {
+        return IntStream.range(0, starts.length)
+                        .mapToObj(i -> Range.of(starts[i], ends[i]));
+    }
+
+
+
+    /**
+     * @param other The set to combine with this one.
+     * @return A new set containing the values in either set.
+     */
+    public LongRangeSet union(LongRangeSet other) {
+        Builder builder = new Builder(starts.length + other.starts.length);
+        int i = 0;
+        int j = 0;
+        // Feed both sets to the builder in order of their starts, so it can merge them
+        while (i < starts.length || j < other.starts.length) {
+            if (j == other.starts.length || (i < starts.length && starts[i] <= other.starts[j])) {
+                builder.add(starts[i], ends[i]);
+                i++;
+            } else {
+                builder.add(other.starts[j], other.ends[j]);
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+
+
+    /**
+     * @param other The set to combine with this one.
+     * @return A new set containing the values in both sets.
+     */
+    public LongRangeSet intersection(LongRangeSet other) {
+        Builder builder = new Builder(Math.max(starts.length, other.starts.length));
+        int i = 0;
+        int j = 0;
+        while (i < starts.length && j < other.starts.length) {
+            long start = Math.max(starts[i], other.starts[j]);
+            long end = Math.min(ends[i], other.ends[j]);
+            if (start <= end)
+                builder.add(start, end);
+
+            // Move past whichever range ends first
+            if (ends[i] < other.ends[j])
+                i++;
+            else
+                j++;
+        }
+        return builder.build();
+    }
+
+
+
+    /**
+     * @param other The set of values to remove from this one.
+     * @return A new set containing the values in this set which are not in the
+     *         other set.
+     */
+    public LongRangeSet difference(LongRangeSet other) {
+        Builder builder = new Builder(starts.length + other.starts.length);
+        int j = 0;
+        for (int i = 0; i < starts.length; i++) {
+            long current = starts[i];
+            long end = ends[i];
+            boolean covered = false;
+
+            // Skip the ranges which end before this one starts
+            while (j < other.starts.length && other.ends[j] < current)
+                j++;
+
+            // Cut out each range which overlaps this one
+            while (j < other.starts.length && other.starts[j] <= end) {
+                if (other.starts[j] > current)
+                    builder.add(current, other.starts[j] - 1);
+                if (other.ends[j] >= end) {
+                    covered = true;
+                    break;
+                }
+                current = other.ends[j] + 1;
+                j++;
+            }
+
+            if (!covered)
+                builder.add(current, end);
+        }
+        return builder.build();
+    }
+
+
+
+    /**
+     * @param other The set to combine with this one.
+     * @return A new set containing the values which are in exactly one of the
+     *         two sets.
+     */
+    public LongRangeSet symmetricDifference(LongRangeSet other) {
+        return this.difference(other).union(other.difference(this));
+    }
+
+
+
+    /**
+     * @param bounds The range of values to complement this set within. Must
+     *            not be {@code null}.
+     * @return A new set containing the values within the bounds which are not
+     *         in this set.
+     */
+    public LongRangeSet complement(Range<Long> bounds) {
+        return of(bounds.getMinimum(), bounds.getMaximum()).difference(this);
+    }
+
+
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(starts) + Arrays.hashCode(ends);
+    }
+
+
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        LongRangeSet other = (LongRangeSet) obj;
+        return Arrays.equals(starts, other.starts) && Arrays.equals(ends, other.ends);
+    }
+
+
+
+    @Override
+    public String toString() {
+        return stream().map(Range::toString)
+                       .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+
+
+    /**
+     * Accumulate ranges, given in order of their starts, merging any which
+     * overlap or are adjacent to the previous one.
+     */
+    private static class Builder {
+
+        private long[] starts;
+
+        private long[] ends;
+
+        private int size;
+
+
+
+        Builder(int capacity) {
+            this.starts = new long[Math.max(capacity, 1)];
+            this.ends = new long[Math.max(capacity, 1)];
+        }
+
+
+
+        void add(long start, long end) {
+            if (size > 0 && (ends[size - 1] == Long.MAX_VALUE || start <= ends[size - 1] + 1)) {
+                // Extend the previous range
+                ends[size - 1] = Math.max(ends[size - 1], end);
+                return;
+            }
+
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+
+
+
+        LongRangeSet build() {
+            return ofSorted(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size));
+        }
+    }
+
+}
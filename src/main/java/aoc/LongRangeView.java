@@ -0,0 +1,27 @@
+package aoc;
+
+/**
+ * Read access to a set of {@code long} values which are held as disjoint
+ * ranges, wherever the ranges are kept.
+ *
+ * @see LongRangeSet for ranges on the heap.
+ * @see MappedLongRangeSet for ranges in a memory-mapped file.
+ */
+public interface LongRangeView {
+
+    /**
+     * @param value The value to look for.
+     * @return {@code true} if one of the ranges contains the value.
+     */
+    boolean contains(long value);
+
+
+
+    /**
+     * @return The number of values in the set.
+     * @throws ArithmeticException if the number of values does not fit in a
+     *             {@code long}.
+     */
+    long size();
+
+}
@@ -0,0 +1,221 @@
+package aoc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only view of a {@link LongRangeSet} persisted to a flat binary file,
+ * which is memory-mapped and searched in place. Opening an index only maps the
+ * file, so there is no load phase and the ranges are never copied onto the
+ * heap.
+ * <p>
+ * The file consists of a 16 byte header (a magic number, a format version, and
+ * the number of ranges) followed by the start and end of each range as
+ * big-endian {@code long}s, in ascending order.
+ */
+public final class MappedLongRangeSet implements LongRangeView {
+
+    /** "LRS" followed by a zero byte. */
+    private static final int MAGIC = 0x4C525300;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 16;
+
+    /**
+     * The number of ranges mapped by each buffer. A single mapping is limited
+     * to {@link Integer#MAX_VALUE} bytes, so larger files are split into
+     * segments of 2^26 ranges (1 GiB).
+     */
+    private static final int SEGMENT_SHIFT = 26;
+
+    /** The mapped ranges, as alternating starts and ends. */
+    private final LongBuffer[] segments;
+
+    /** The number of ranges in each segment is 2 to the power of this. */
+    private final int segmentShift;
+
+    private final long segmentMask;
+
+    private final long rangeCount;
+
+
+
+    private MappedLongRangeSet(LongBuffer[] segments, int segmentShift, long rangeCount) {
+        this.segments = segments;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.rangeCount = rangeCount;
+    }
+
+
+
+    /**
+     * Write a {@link LongRangeSet} to a file which can be opened with
+     * {@link #open(Path)}. The file is written to a temporary file first, and
+     * then moved into place, so an existing index is never left half written.
+     *
+     * @param ranges The consolidated ranges to write.
+     * @param path The file to write the ranges to.
+     * @throws IOException if the file could not be written.
+     */
+    public static void write(LongRangeSet ranges, Path path) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(ranges.rangeCount());
+            for (int i = 0; i < ranges.rangeCount(); i++) {
+                output.writeLong(ranges.getStart(i));
+                output.writeLong(ranges.getEnd(i));
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+
+    /**
+     * Memory-map a file written by {@link #write(LongRangeSet, Path)}.
+     *
+     * @param path The file to map.
+     * @return A {@link MappedLongRangeSet} which searches the mapped file.
+     * @throws IOException if the file could not be mapped, or is not a range
+     *             index.
+     */
+    public static MappedLongRangeSet open(Path path) throws IOException {
+        return open(path, SEGMENT_SHIFT);
+    }
+
+
+
+    /**
+     * @param path The file to map.
+     * @param segmentShift The number of ranges to map with each buffer is 2 to
+     *            the power of this, e.g. a small number to test files of
+     *            several segments.
+     * @return A {@link MappedLongRangeSet} which searches the mapped file.
+     * @throws IOException if the file could not be mapped, or is not a range
+     *             index.
+     */
+    static MappedLongRangeSet open(Path path, int segmentShift) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES)
+                throw new IOException("%s is too short to be a range index.".formatted(path));
+
+            var header = channel.map(MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC || header.getInt() != VERSION)
+                throw new IOException("%s is not a range index.".formatted(path));
+
+            // Check the count against the length first, so a damaged count can't overflow
+            long rangeCount = header.getLong();
+            if (rangeCount < 0 || rangeCount > (channel.size() - HEADER_BYTES) / (Long.BYTES * 2) ||
+                channel.size() != HEADER_BYTES + rangeCount * Long.BYTES * 2)
+                throw new IOException("%s should contain %d ranges, but is %d bytes long.".formatted(path, rangeCount, channel.size()));
+
+            // The mappings remain valid after the channel is closed
+            long segmentRanges = 1L << segmentShift;
+            var segments = new LongBuffer[(int) ((rangeCount + segmentRanges - 1) >>> segmentShift)];
+            for (int s = 0; s < segments.length; s++) {
+                long first = (long) s << segmentShift;
+                long ranges = Math.min(rangeCount - first, segmentRanges);
+                segments[s] = channel.map(MapMode.READ_ONLY, HEADER_BYTES + first * Long.BYTES * 2, ranges * Long.BYTES * 2)
+                                     .order(ByteOrder.BIG_ENDIAN)
+                                     .asLongBuffer();
+            }
+            return new MappedLongRangeSet(segments, segmentShift, rangeCount);
+        }
+    }
+
+
+
+    /**
+     * @return The number of disjoint ranges in this set.
+     */
+    public long rangeCount() {
+        return rangeCount;
+    }
+
+
+
+    /**
+     * @param index The index of the range, from 0 to {@link #rangeCount()}.
+     * @return The inclusive start of the range at the given index.
+     */
+    public long getStart(long index) {
+        return segments[(int) (index >>> segmentShift)].get((int) (index & segmentMask) * 2);
+    }
+
+
+
+    /**
+     * @param index The index of the range, from 0 to {@link #rangeCount()}.
+     * @return The inclusive end of the range at the given index.
+     */
+    public long getEnd(long index) {
+        return segments[(int) (index >>> segmentShift)].get((int) (index & segmentMask) * 2 + 1);
+    }
+
+
+
+    /**
+     * Determine whether a value is in this set, using a binary search of the
+     * mapped ranges.
+     *
+     * @param value The value to look for.
+     * @return {@code true} if one of the ranges contains the value.
+     */
+    @Override
+    public boolean contains(long value) {
+        // Find the last range which starts at or before the value
+        long low = 0;
+        long high = rangeCount - 1;
+        long before = -1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            if (getStart(middle) <= value) {
+                before = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return before >= 0 && getEnd(before) >= value;
+    }
+
+
+
+    /**
+     * @return The number of values in this set.
+     * @throws ArithmeticException if the number of values does not fit in a
+     *             {@code long}.
+     */
+    @Override
+    public long size() {
+        long size = 0;
+        for (long i = 0; i < rangeCount; i++)
+            size = Math.addExact(size, Math.addExact(Math.subtractExact(getEnd(i), getStart(i)), 1));
+        return size;
+    }
+
+
+
+    @Override
+    public String toString() {
+        return "MappedLongRangeSet[%d ranges]".formatted(rangeCount);
+    }
+
+}
@@ -0,0 +1,224 @@
+package aoc;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * The cost of running some code: its wall time, the bytes it allocated, the
+ * garbage collections during it and the peak heap usage.
+ * <p>
+ * The allocated bytes are only counted for the thread which ran the code. The
+ * garbage collections and peak heap usage are for the whole JVM, so they only
+ * belong to the measured code if nothing else is running at the same time.
+ * <p>
+ * The heap grows as objects are allocated until a collection frees some, so
+ * its peak is just before a collection, or at the end. The heap used is
+ * sampled at those times, rather than adding up each memory pool's peak,
+ * since the pools peak at different times, and resetting the peaks would
+ * affect any other measurement in progress. Collections are reported
+ * asynchronously, so one just before the end may be missed.
+ *
+ * @param nanos The wall time, in nanoseconds.
+ * @param allocatedBytes The bytes allocated by the thread, or -1 if the JVM
+ *            can't measure them.
+ * @param gcCount The number of garbage collections.
+ * @param gcMillis The approximate time spent in garbage collection, in
+ *            milliseconds.
+ * @param peakHeapBytes The peak heap usage: the most heap in use at once,
+ *            before any of the collections, or at the end.
+ */
+public record Measurement(long nanos, long allocatedBytes, long gcCount, long gcMillis, long peakHeapBytes) {
+
+    private static final com.sun.management.ThreadMXBean threads = threadMXBean();
+
+    private static final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private static final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    /** The names of the heap's memory pools. */
+    private static final Set<String> heapPools = ManagementFactory.getMemoryPoolMXBeans()
+                                                                  .stream()
+                                                                  .filter(p -> p.getType() == MemoryType.HEAP)
+                                                                  .map(MemoryPoolMXBean::getName)
+                                                                  .collect(Collectors.toUnmodifiableSet());
+
+    /**
+     * The measurements in progress, which are sampled at each collection.
+     * Those which are never stopped, e.g. because the code threw an
+     * exception, are dropped once they are unreachable.
+     */
+    private static final Set<Stopwatch> running = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    /** Used when nothing could be measured, e.g. for code which timed out. */
+    public static final Measurement NONE = new Measurement(0, 0, 0, 0, 0);
+
+    static {
+        for (GarbageCollectorMXBean collector : collectors)
+            if (collector instanceof NotificationEmitter emitter)
+                emitter.addNotificationListener((notification, handback) -> collected(notification),
+                                                n -> n.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION),
+                                                null);
+    }
+
+
+
+    /**
+     * Start measuring code run by the current thread.
+     *
+     * @return A {@link Stopwatch} to {@link Stopwatch#stop() stop} on the same
+     *         thread, once the code has run.
+     */
+    public static Stopwatch start() {
+        return new Stopwatch();
+    }
+
+
+
+    @Override
+    public String toString() {
+        return "%s, %s allocated, %d GCs taking %d ms, peak heap %s".formatted(PuzzleRunner.formatNanos(nanos),
+                                                                               formatBytes(allocatedBytes),
+                                                                               gcCount,
+                                                                               gcMillis,
+                                                                               formatBytes(peakHeapBytes));
+    }
+
+
+
+    /**
+     * @param bytes A number of bytes.
+     * @return The number of bytes in MiB, formatted for display, or "?" if it
+     *         is negative.
+     */
+    public static String formatBytes(long bytes) {
+        return bytes < 0 ? "?" : "%.1f MiB".formatted(bytes / (double) (1 << 20));
+    }
+
+
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean &&
+            bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            return bean;
+        }
+        return null;
+    }
+
+
+
+    private static long threadAllocatedBytes() {
+        return threads == null ? -1 : threads.getCurrentThreadAllocatedBytes();
+    }
+
+
+
+    private static long totalGcCount() {
+        return collectors.stream().mapToLong(c -> Math.max(0, c.getCollectionCount())).sum();
+    }
+
+
+
+    private static long totalGcMillis() {
+        return collectors.stream().mapToLong(c -> Math.max(0, c.getCollectionTime())).sum();
+    }
+
+
+
+    /**
+     * Sample the heap used just before a collection, for each measurement in
+     * progress.
+     */
+    private static void collected(Notification notification) {
+        var info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long used = heapUsed(info.getGcInfo().getMemoryUsageBeforeGc());
+        synchronized (running) {
+            running.forEach(s -> s.sample(used));
+        }
+    }
+
+
+
+    /**
+     * @param pools The usage of each memory pool, at the same moment.
+     * @return The total usage of the heap's pools.
+     */
+    private static long heapUsed(Map<String, MemoryUsage> pools) {
+        return pools.entrySet()
+                    .stream()
+                    .filter(p -> heapPools.contains(p.getKey()))
+                    .mapToLong(p -> p.getValue().getUsed())
+                    .sum();
+    }
+
+
+
+    /**
+     * A measurement in progress.
+     */
+    public static final class Stopwatch {
+
+        private final long allocatedBytes;
+
+        private final long gcCount;
+
+        private final long gcMillis;
+
+        private final long start;
+
+        /** The most heap used at once, that has been sampled so far. */
+        private final AtomicLong peakHeapBytes = new AtomicLong();
+
+
+
+        private Stopwatch() {
+            sample(memory.getHeapMemoryUsage().getUsed());
+            running.add(this);
+            gcCount = totalGcCount();
+            gcMillis = totalGcMillis();
+            allocatedBytes = threadAllocatedBytes();
+            start = System.nanoTime();
+        }
+
+
+
+        /**
+         * @return The cost of the code run since this stopwatch was started.
+         */
+        public Measurement stop() {
+            long nanos = System.nanoTime() - start;
+            long allocated = threadAllocatedBytes();
+            running.remove(this);
+            sample(memory.getHeapMemoryUsage().getUsed());
+            return new Measurement(nanos,
+                                   allocated < 0 ? -1 : allocated - allocatedBytes,
+                                   totalGcCount() - gcCount,
+                                   totalGcMillis() - gcMillis,
+                                   peakHeapBytes.get());
+        }
+
+
+
+        private void sample(long heapBytes) {
+            peakHeapBytes.accumulateAndGet(heapBytes, Math::max);
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.commons.lang3.Range;
+
+/**
+ * A set of {@code long} values which can be added to while it is being
+ * queried. The values are stored as disjoint, non-adjacent inclusive ranges,
+ * keyed on their start, and each added range is coalesced with its neighbours
+ * as it is inserted, in O(log n) amortized time.
+ * <p>
+ * Instances created by {@link #concurrent()} support a single writer and any
+ * number of lock-free readers. A reader always sees every value added before
+ * the {@link #add(long, long)} in progress, and never sees a value which has
+ * not been added.
+ *
+ * @see LongRangeSet for an immutable set of ranges.
+ */
+public final class MutableLongRangeSet {
+
+    /** The ranges, mapping their start to their end. */
+    private final NavigableMap<Long, Long> ranges;
+
+    /** The number of values in the set. Only written by the writer. */
+    private volatile long size;
+
+
+
+    /**
+     * Create an empty set, which is not safe for concurrent use.
+     */
+    public MutableLongRangeSet() {
+        this(new TreeMap<>());
+    }
+
+
+
+    /**
+     * @param ranges The empty map to keep the ranges in, e.g. one which tests
+     *            can watch.
+     */
+    MutableLongRangeSet(NavigableMap<Long, Long> ranges) {
+        this.ranges = ranges;
+    }
+
+
+
+    /**
+     * @return An empty set, which may be read from any number of threads while
+     *         a single thread adds to it.
+     */
+    public static MutableLongRangeSet concurrent() {
+        return new MutableLongRangeSet(new ConcurrentSkipListMap<>());
+    }
+
+
+
+    /**
+     * Add a range of values to the set, merging it with any ranges it overlaps
+     * or is adjacent to.
+     *
+     * @param range The range to add. Must not be {@code null}.
+     */
+    public void add(Range<Long> range) {
+        add(range.getMinimum(), range.getMaximum());
+    }
+
+
+
+    /**
+     * Add a range of values to the set, merging it with any ranges it overlaps
+     * or is adjacent to.
+     *
+     * @param start The inclusive start of the range.
+     * @param end The inclusive end of the range. Nothing is added if it is less
+     *            than {@code start}.
+     */
+    public void add(long start, long end) {
+        if (end < start)
+            return;
+
+        long newStart = start;
+        long newEnd = end;
+        long removed = 0;
+
+        // Merge with the range starting before this one, if it reaches it
+        Entry<Long, Long> floor = ranges.floorEntry(start);
+        if (floor != null && (floor.getValue() == Long.MAX_VALUE || floor.getValue() + 1 >= start)) {
+            if (floor.getValue() >= end)
+                return;
+            newStart = floor.getKey();
+            removed += rangeSize(floor.getKey(), floor.getValue());
+        }
+
+        // Find the ranges starting within (or just after) this one, which it will absorb
+        NavigableMap<Long, Long> absorbed = ranges.subMap(newStart, false, end == Long.MAX_VALUE ? end : end + 1, true);
+        for (Entry<Long, Long> range : absorbed.entrySet()) {
+            newEnd = Math.max(newEnd, range.getValue());
+            removed += rangeSize(range.getKey(), range.getValue());
+        }
+
+        // Publish the merged range before removing the ones it replaces, in
+        // ascending order, so a concurrent reader always finds a range
+        // containing any value which was already in the set.
+        ranges.put(newStart, newEnd);
+        while (!absorbed.isEmpty())
+            absorbed.pollFirstEntry();
+
+        size = size - removed + rangeSize(newStart, newEnd);
+    }
+
+
+
+    /**
+     * @param value The value to look for.
+     * @return {@code true} if the value has been added to the set.
+     */
+    public boolean contains(long value) {
+        Entry<Long, Long> floor = ranges.floorEntry(value);
+        return floor != null && floor.getValue() >= value;
+    }
+
+
+
+    /**
+     * @return The number of values in the set.
+     */
+    public long size() {
+        return size;
+    }
+
+
+
+    /**
+     * @return The number of disjoint ranges in the set. This takes linear time
+     *         for a {@link #concurrent()} set.
+     */
+    public int rangeCount() {
+        return ranges.size();
+    }
+
+
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+
+
+    /**
+     * @return An immutable copy of the current ranges of this set.
+     */
+    public LongRangeSet toLongRangeSet() {
+        // Copy the entries first, since a concurrent set may change in between
+        var entries = ranges.entrySet().toArray(Entry[]::new);
+        long[] starts = new long[entries.length];
+        long[] ends = new long[entries.length];
+        int count = 0;
+        for (Entry<?, ?> entry : entries) {
+            long start = (Long) entry.getKey();
+            long end = (Long) entry.getValue();
+            // Skip any range absorbed by one copied before it
+            if (count > 0 && start <= ends[count - 1])
+                ends[count - 1] = Math.max(ends[count - 1], end);
+            else {
+                starts[count] = start;
+                ends[count] = end;
+                count++;
+            }
+        }
+        return LongRangeSet.ofSorted(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+
+
+    @Override
+    public String toString() {
+        return toLongRangeSet().toString();
+    }
+
+
+
+    private static long rangeSize(long start, long end) {
+        return end - start + 1;
+    }
+
+}
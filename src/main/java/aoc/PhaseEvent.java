@@ -0,0 +1,40 @@
+package aoc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for a phase within a part of a puzzle, such as
+ * building a map of the input, or solving for one machine.
+ */
+@Name("aoc.Phase")
+@Label("Puzzle Phase")
+@Category("Advent of Code")
+@Description("A phase within a part of a puzzle")
+public final class PhaseEvent extends Event {
+
+    @Label("Puzzle")
+    private final String puzzle;
+
+    @Label("Phase")
+    private final String phase;
+
+
+
+    /**
+     * Create the event, and start timing it. Its duration ends when it is
+     * {@link #commit() committed}.
+     *
+     * @param puzzle The puzzle's class.
+     * @param phase A description of the phase.
+     */
+    public PhaseEvent(Class<?> puzzle, String phase) {
+        this.puzzle = puzzle.getSimpleName();
+        this.phase = phase;
+        begin();
+    }
+
+}
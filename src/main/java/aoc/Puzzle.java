@@ -0,0 +1,57 @@
+package aoc;
+
+import java.util.List;
+
+/**
+ * A puzzle which is solved in stages: the input is parsed once, and the parsed
+ * input is shared by both parts, so they can be run (and timed) separately.
+ *
+ * @param <I> The type of the parsed input. The parts must not modify it.
+ * @see PuzzleRunner
+ */
+public interface Puzzle<I> {
+
+    /**
+     * Parse the lines read from an input file.
+     *
+     * @param lines The lines read from the input.
+     * @return The parsed input, to be shared by {@link #part1(Object)} and
+     *         {@link #part2(Object)}.
+     */
+    I parse(List<String> lines);
+
+
+
+    /**
+     * @param input The parsed input.
+     * @return The value calculated for part 1.
+     */
+    long part1(I input);
+
+
+
+    /**
+     * @param input The parsed input.
+     * @return The value calculated for part 2.
+     */
+    long part2(I input);
+
+
+
+    /**
+     * @return The name of the puzzle input file, on the classpath.
+     */
+    default String inputFile() {
+        return "input/" + getClass().getSimpleName() + ".txt";
+    }
+
+
+
+    /**
+     * @return The name of the example input file, on the classpath.
+     */
+    default String testInputFile() {
+        return "testInput/" + getClass().getSimpleName() + ".txt";
+    }
+
+}
@@ -0,0 +1,48 @@
+package aoc;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for a stage of a puzzle: parsing an input, or
+ * solving one of the parts.
+ * <p>
+ * Like any JFR event, it costs next to nothing when it isn't being recorded.
+ */
+@Name("aoc.Puzzle")
+@Label("Puzzle Stage")
+@Category("Advent of Code")
+@Description("Parsing a puzzle's input, or solving one of its parts")
+public final class PuzzleEvent extends Event {
+
+    @Label("Puzzle")
+    private final String puzzle;
+
+    @Label("Stage")
+    private final String stage;
+
+    @Label("Example")
+    @Description("Whether the example input was used, rather than the real input")
+    private final boolean example;
+
+
+
+    /**
+     * Create the event, and start timing it. Its duration ends when it is
+     * {@link #commit() committed}.
+     *
+     * @param puzzle The puzzle being run.
+     * @param stage The stage of the puzzle, e.g. "part 1".
+     * @param example {@code true} if the example input is used.
+     */
+    public PuzzleEvent(Puzzle<?> puzzle, String stage, boolean example) {
+        this.puzzle = puzzle.getClass().getSimpleName();
+        this.stage = stage;
+        this.example = example;
+        begin();
+    }
+
+}
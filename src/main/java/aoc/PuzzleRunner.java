@@ -0,0 +1,209 @@
+package aoc;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Runs a {@link Puzzle}: each input is parsed once, then each part is checked
+ * against the example input and solved for the real input. The example runs
+ * are logged at debug level, and the cost of each stage (its time, allocation
+ * and garbage collection, see {@link Measurement}) is logged.
+ *
+ * @param <I> The type of the puzzle's parsed input.
+ */
+public final class PuzzleRunner<I> {
+
+    /** The number of recent trace events to dump when a stage fails. */
+    private static final int TRACE_EVENTS = 100;
+
+    private final Puzzle<I> puzzle;
+
+    private final Logger log;
+
+    /** The puzzle used for the example input, if it needs to be configured differently. */
+    private Puzzle<I> testPuzzle;
+
+    private final Part[] parts = new Part[2];
+
+    /** The position of the trace buffer at the start of the current stage. */
+    private long traceMark;
+
+
+
+    private PuzzleRunner(Puzzle<I> puzzle, Logger log) {
+        this.puzzle = puzzle;
+        this.testPuzzle = puzzle;
+        this.log = log;
+    }
+
+
+
+    /**
+     * @param <I> The type of the puzzle's parsed input.
+     * @param puzzle The puzzle to run.
+     * @param log The puzzle's logger, whose level is raised while the examples
+     *            are run.
+     * @return A new {@link PuzzleRunner} for the puzzle.
+     */
+    public static <I> PuzzleRunner<I> of(Puzzle<I> puzzle, Logger log) {
+        return new PuzzleRunner<>(puzzle, log);
+    }
+
+
+
+    /**
+     * @param testPuzzle The puzzle to use for the example input, if it is
+     *            configured differently than for the real input.
+     * @return This runner.
+     */
+    public PuzzleRunner<I> testPuzzle(Puzzle<I> testPuzzle) {
+        this.testPuzzle = testPuzzle;
+        return this;
+    }
+
+
+
+    /**
+     * @param resultMessage The message used to log the result, with a
+     *            {@code {}} placeholder for the value.
+     * @param expectedTestResult The expected result for the example input.
+     * @return This runner.
+     */
+    public PuzzleRunner<I> part1(String resultMessage, long expectedTestResult) {
+        parts[0] = new Part(resultMessage, expectedTestResult, null);
+        return this;
+    }
+
+
+
+    /**
+     * @param resultMessage The message used to log the result, with a
+     *            {@code {}} placeholder for the value.
+     * @param expectedTestResult The expected result for the example input.
+     * @return This runner.
+     */
+    public PuzzleRunner<I> part2(String resultMessage, long expectedTestResult) {
+        return part2(resultMessage, expectedTestResult, null);
+    }
+
+
+
+    /**
+     * @param resultMessage The message used to log the result, with a
+     *            {@code {}} placeholder for the value.
+     * @param expectedTestResult The expected result for the example input.
+     * @param testLines An example input specific to part 2, or {@code null}
+     *            to use the shared example input.
+     * @return This runner.
+     */
+    public PuzzleRunner<I> part2(String resultMessage, long expectedTestResult, List<String> testLines) {
+        parts[1] = new Part(resultMessage, expectedTestResult, testLines);
+        return this;
+    }
+
+
+
+    /**
+     * Parse the inputs, then check and solve each part. If a stage throws an
+     * exception, or a part's test result is wrong, the trace events recorded
+     * during that stage are dumped.
+     */
+    public void run() {
+        traceMark = TraceBuffer.position();
+        try {
+            solveParts();
+        } catch (RuntimeException | Error e) {
+            log.error("The puzzle failed: {}", e.toString());
+            TraceBuffer.dump(log, traceMark, TRACE_EVENTS);
+            throw e;
+        }
+    }
+
+
+
+    private void solveParts() {
+
+        // Parse each input once, to be shared by both parts
+        log.setLevel(Level.DEBUG);
+        List<String> testLines = FileUtils.readFile(testPuzzle.testInputFile());
+        I testInput = time("Parsed the test input", new PuzzleEvent(testPuzzle, "parse", true), () -> testPuzzle.parse(testLines));
+
+        log.setLevel(Level.INFO);
+        List<String> lines = FileUtils.readFile(puzzle.inputFile());
+        I input = time("Parsed the input", new PuzzleEvent(puzzle, "parse", false), () -> puzzle.parse(lines));
+
+        for (int n = 1; n <= parts.length; n++) {
+            Part part = parts[n - 1];
+            if (part == null)
+                continue;
+
+            log.info("Part {}:", n);
+            log.setLevel(Level.DEBUG);
+
+            I partTestInput = part.testLines() == null ? testInput : testPuzzle.parse(part.testLines());
+            traceMark = TraceBuffer.position();
+            PuzzleEvent testEvent = new PuzzleEvent(testPuzzle, "part " + n, true);
+            long testResult = solve(testPuzzle, n, partTestInput);
+            testEvent.commit();
+
+            log.info("Should be {}", part.expectedTestResult());
+            log.info(part.resultMessage(), testResult);
+
+            if (testResult != part.expectedTestResult()) {
+                log.error("The test result doesn't match the expected value.");
+                TraceBuffer.dump(log, traceMark, TRACE_EVENTS);
+            }
+
+            log.setLevel(Level.INFO);
+
+            int partNumber = n;
+            long result = time("Solved part " + n, new PuzzleEvent(puzzle, "part " + n, false), () -> solve(puzzle, partNumber, input));
+            log.info(part.resultMessage(), result);
+        }
+    }
+
+
+
+    /**
+     * @return The result of the given part of the puzzle.
+     */
+    private static <I> long solve(Puzzle<I> puzzle, int part, I input) {
+        return part == 1 ? puzzle.part1(input) : puzzle.part2(input);
+    }
+
+
+
+    /**
+     * Run a stage of the puzzle, log what it cost, and commit its event.
+     */
+    private <T> T time(String description, PuzzleEvent event, Supplier<T> stage) {
+        traceMark = TraceBuffer.position();
+        Measurement.Stopwatch stopwatch = Measurement.start();
+        T result = stage.get();
+        event.commit();
+        log.info("{} in {}", description, stopwatch.stop());
+        return result;
+    }
+
+
+
+    /**
+     * @param nanos A duration in nanoseconds.
+     * @return The duration in milliseconds, formatted for display.
+     */
+    public static String formatNanos(long nanos) {
+        return "%.3f ms".formatted(nanos / 1e6);
+    }
+
+
+
+    /**
+     * The configuration of one part of the puzzle.
+     */
+    private record Part(String resultMessage, long expectedTestResult, List<String> testLines) {
+    }
+
+}
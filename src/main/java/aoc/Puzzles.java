@@ -0,0 +1,75 @@
+package aoc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds the {@link Puzzle} solved for each day of a season.
+ */
+public final class Puzzles {
+
+    /** The number of days in a season. */
+    public static final int DAYS = 25;
+
+
+
+    private Puzzles() {
+    }
+
+
+
+    /**
+     * @param year The year of the season.
+     * @param day The day of the puzzle, from 1.
+     * @return The name of the class which solves the puzzle, e.g.
+     *         {@code aoc._2025.Day01}.
+     */
+    public static String className(int year, int day) {
+        return "aoc._%d.Day%02d".formatted(year, day);
+    }
+
+
+
+    /**
+     * Create the puzzle for a day, using its no-argument constructor.
+     *
+     * @param year The year of the season.
+     * @param day The day of the puzzle, from 1.
+     * @return The puzzle, or empty if the day has not been solved.
+     * @throws IllegalStateException if the day's class is not a
+     *             {@link Puzzle}, or cannot be created.
+     */
+    @SuppressWarnings("unchecked")
+    public static Optional<Puzzle<Object>> create(int year, int day) {
+        Class<?> type;
+        try {
+            type = Class.forName(className(year, day));
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        }
+
+        if (!Puzzle.class.isAssignableFrom(type))
+            throw new IllegalStateException(type.getName() + " is not a Puzzle");
+
+        try {
+            return Optional.of((Puzzle<Object>) type.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + type.getName(), e);
+        }
+    }
+
+
+
+    /**
+     * @param year The year of the season.
+     * @return The puzzles solved for each day of the season, in order.
+     */
+    public static List<Puzzle<Object>> discover(int year) {
+        List<Puzzle<Object>> puzzles = new ArrayList<>();
+        for (int day = 1; day <= DAYS; day++)
+            create(year, day).ifPresent(puzzles::add);
+        return puzzles;
+    }
+
+}
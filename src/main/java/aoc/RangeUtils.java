@@ -2,7 +2,11 @@ package aoc;
 
 import org.apache.commons.lang3.Range;
 
-/** Utilities for working with {@link Range}s. */
+/**
+ * Utilities for working with {@link Range}s.
+ * 
+ * @see LongRangeSet for set operations on many disjoint {@code long} ranges.
+ */
 public class RangeUtils {
 
     /** Utility classes have private constructors. */
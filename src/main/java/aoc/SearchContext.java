@@ -0,0 +1,238 @@
+package aoc;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Bounds a long-running search, and reports its progress: the search
+ * {@link #check() checks} it regularly, and is stopped with a
+ * {@link SearchStoppedException}, carrying its partial result, once it is
+ * {@link #cancel() cancelled} or its deadline passes, rather than returning an
+ * answer which may be wrong.
+ * <p>
+ * Whoever runs a search sets its limits by binding a context to the thread
+ * which runs it, e.g. {@link Season} binds one with a deadline to each stage,
+ * and the search {@link #start(String) starts} its own context from that.
+ * Without a bound context a search has no deadline.
+ * <p>
+ * The search's {@link SearchProgress} counters are logged by a background
+ * reporter every {@code aoc.progress.period} seconds (5 by default, 0 for
+ * never), so a search which ends sooner is never reported. Checking only
+ * reads a volatile field, which is set by whoever stops the search, so it
+ * can be done in the innermost loop.
+ */
+public final class SearchContext implements AutoCloseable {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(SearchContext.class);
+
+    /** How often the progress of each search is reported. */
+    private static final Duration REPORT_PERIOD = Duration.ofSeconds(Long.getLong("aoc.progress.period", 5));
+
+    /** Stops searches at their deadlines, and reports their progress. */
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                                                                                                              .daemon()
+                                                                                                              .name("search-context")
+                                                                                                              .factory());
+
+    /** The context bound to the thread, by whoever runs the search. */
+    private static final ThreadLocal<SearchContext> bound = new ThreadLocal<>();
+
+    private final String search;
+
+    /** Why the search was stopped, shared with the context it was started from. */
+    private final Stop stop;
+
+    private final SearchProgress progress;
+
+    /** The best result found so far, or {@link Long#MIN_VALUE} for none. */
+    private final AtomicLong partialResult = new AtomicLong(Long.MIN_VALUE);
+
+    private final long start = System.nanoTime();
+
+    /** Stops the search at its deadline, or reports its progress. */
+    private final ScheduledFuture<?> scheduled;
+
+
+
+    private SearchContext(String search, Stop stop, SearchProgress progress, ScheduledFuture<?> scheduled) {
+        this.search = search;
+        this.stop = stop;
+        this.progress = progress;
+        this.scheduled = scheduled;
+    }
+
+
+
+    private SearchContext(String search, Stop stop) {
+        this.search = search;
+        this.stop = stop;
+        this.progress = SearchProgress.start(search);
+        this.scheduled = REPORT_PERIOD.isZero() ? null
+                                                : scheduler.scheduleAtFixedRate(this::report, REPORT_PERIOD.toNanos(),
+                                                                                REPORT_PERIOD.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+
+
+    /**
+     * Create a context which stops any search started from it once its
+     * deadline passes. It should be {@link #close() closed} when the search
+     * ends, to cancel the deadline.
+     *
+     * @param name A description of what is being run, e.g. "Day10 part 2".
+     * @param timeout How long the search may run for.
+     * @return The new context, to {@link #call(Callable) run} the search with.
+     */
+    public static SearchContext withDeadline(String name, Duration timeout) {
+        Stop stop = new Stop();
+        ScheduledFuture<?> deadline = scheduler.schedule(() -> stop.stop(Reason.DEADLINE), timeout.toNanos(), TimeUnit.NANOSECONDS);
+        return new SearchContext(name, stop, null, deadline);
+    }
+
+
+
+    /**
+     * Start a search, which is bounded by the context bound to the current
+     * thread, if there is one. It should be {@link #close() closed} when the
+     * search ends.
+     *
+     * @param search A description of the search, e.g. "Day10 part 2".
+     * @return The context of the new search.
+     */
+    public static SearchContext start(String search) {
+        SearchContext parent = bound.get();
+        return new SearchContext(search, parent == null ? new Stop() : parent.stop);
+    }
+
+
+
+    /**
+     * Run a task with this context bound to the current thread, so any search
+     * it starts is bounded by this context.
+     *
+     * @param <T> The type of the task's result.
+     * @param task The task to run.
+     * @return The task's result.
+     * @throws Exception If the task throws one.
+     */
+    public <T> T call(Callable<T> task) throws Exception {
+        SearchContext previous = bound.get();
+        bound.set(this);
+        try {
+            return task.call();
+        } finally {
+            bound.set(previous);
+        }
+    }
+
+
+
+    /**
+     * Stop the search, and any others started from this context, the next
+     * time they {@link #check() check}.
+     */
+    public void cancel() {
+        stop.stop(Reason.CANCELLED);
+    }
+
+
+
+    /**
+     * Called regularly by the search, to stop it if it has been cancelled or
+     * its deadline has passed.
+     *
+     * @throws SearchStoppedException If the search should stop.
+     */
+    public void check() {
+        Reason reason = stop.reason;
+        if (reason != null)
+            throw new SearchStoppedException(search, reason, partialResult());
+    }
+
+
+
+    /**
+     * @param result The best result found so far, which is reported if the
+     *            search is stopped.
+     */
+    public void partialResult(long result) {
+        partialResult.setRelease(result);
+    }
+
+
+
+    /**
+     * @return The best result found so far, or {@code null} if there is none.
+     */
+    public Long partialResult() {
+        long result = partialResult.getAcquire();
+        return result == Long.MIN_VALUE ? null : result;
+    }
+
+
+
+    /**
+     * @return The counters of the search, to be updated by the searching
+     *         thread.
+     */
+    public SearchProgress progress() {
+        return progress;
+    }
+
+
+
+    /**
+     * End the search, or cancel the deadline.
+     */
+    @Override
+    public void close() {
+        if (scheduled != null)
+            scheduled.cancel(false);
+        if (progress != null)
+            progress.close();
+    }
+
+
+
+    private void report() {
+        log.info("{}: {} after {} s", search, progress, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start));
+    }
+
+
+
+    /**
+     * Why a search was stopped.
+     */
+    public enum Reason {
+        CANCELLED,
+        DEADLINE
+    }
+
+
+
+    /**
+     * Whether the searches sharing it should stop, which is only set once.
+     */
+    private static final class Stop {
+
+        private volatile Reason reason;
+
+
+
+        synchronized void stop(Reason why) {
+            if (reason == null)
+                reason = why;
+        }
+    }
+
+}
@@ -0,0 +1,178 @@
+package aoc;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * Counters for a long-running search, which are sampled by Flight Recorder
+ * every second as {@code aoc.SearchProgress} events, while it is recording.
+ * <p>
+ * The counters are updated by a single thread, the one running the search,
+ * with plain release stores, so counting costs little more than it would
+ * with local variables.
+ */
+public final class SearchProgress implements AutoCloseable {
+
+    /** The searches in progress, to be sampled. */
+    private static final Set<SearchProgress> active = ConcurrentHashMap.newKeySet();
+
+    static {
+        FlightRecorder.addPeriodicEvent(SearchProgressEvent.class, () -> active.forEach(SearchProgress::emit));
+    }
+
+    private final String search;
+
+    private final AtomicLong statesExpanded = new AtomicLong();
+
+    private final AtomicLong frontierSize = new AtomicLong();
+
+    private final AtomicLong pairsChecked = new AtomicLong();
+
+    private final AtomicLong pairsPruned = new AtomicLong();
+
+
+
+    private SearchProgress(String search) {
+        this.search = search;
+    }
+
+
+
+    /**
+     * Start counting the progress of a search. It should be
+     * {@link #close() closed} when the search ends.
+     *
+     * @param search A description of the search, e.g. "Day10 part 2".
+     * @return The progress of the new search.
+     */
+    public static SearchProgress start(String search) {
+        SearchProgress progress = new SearchProgress(search);
+        active.add(progress);
+        return progress;
+    }
+
+
+
+    /**
+     * Count a state whose successors have been generated.
+     */
+    public void stateExpanded() {
+        increment(statesExpanded);
+    }
+
+
+
+    /**
+     * @param size The number of states waiting to be expanded.
+     */
+    public void frontier(long size) {
+        frontierSize.setRelease(size);
+    }
+
+
+
+    /**
+     * Count a pair of candidates which has been considered.
+     */
+    public void pairChecked() {
+        increment(pairsChecked);
+    }
+
+
+
+    /**
+     * Count a pair of candidates which has been ruled out without being fully
+     * checked.
+     */
+    public void pairPruned() {
+        increment(pairsPruned);
+    }
+
+
+
+    /**
+     * Stop sampling this search, and record its final counts.
+     */
+    @Override
+    public void close() {
+        active.remove(this);
+        emit();
+    }
+
+
+
+    /**
+     * @return The counters which the search has used, e.g. "1200 states
+     *         expanded, frontier of 300".
+     */
+    @Override
+    public String toString() {
+        StringBuilder counters = new StringBuilder();
+        long states = statesExpanded.getAcquire();
+        long pairs = pairsChecked.getAcquire();
+        if (states > 0 || pairs == 0)
+            counters.append(states).append(" states expanded, frontier of ").append(frontierSize.getAcquire());
+        if (pairs > 0)
+            counters.append(counters.isEmpty() ? "" : ", ")
+                    .append(pairs).append(" pairs checked (").append(pairsPruned.getAcquire()).append(" pruned)");
+        return counters.toString();
+    }
+
+
+
+    /**
+     * Increment a counter only written by the searching thread.
+     */
+    private static void increment(AtomicLong counter) {
+        counter.setRelease(counter.getPlain() + 1);
+    }
+
+
+
+    private void emit() {
+        SearchProgressEvent event = new SearchProgressEvent();
+        if (!event.isEnabled())
+            return;
+        event.search = search;
+        event.statesExpanded = statesExpanded.getAcquire();
+        event.frontierSize = frontierSize.getAcquire();
+        event.pairsChecked = pairsChecked.getAcquire();
+        event.pairsPruned = pairsPruned.getAcquire();
+        event.commit();
+    }
+
+
+
+    @Name("aoc.SearchProgress")
+    @Label("Search Progress")
+    @Category("Advent of Code")
+    @Description("The counters of a long-running search")
+    @Period("1 s")
+    static class SearchProgressEvent extends Event {
+
+        @Label("Search")
+        String search;
+
+        @Label("States Expanded")
+        long statesExpanded;
+
+        @Label("Frontier Size")
+        long frontierSize;
+
+        @Label("Pairs Checked")
+        long pairsChecked;
+
+        @Label("Pairs Pruned")
+        long pairsPruned;
+    }
+
+}
@@ -0,0 +1,51 @@
+package aoc;
+
+/**
+ * Thrown by a search which was stopped before it finished, because it was
+ * cancelled or ran out of time (see {@link SearchContext}), so that it can't
+ * be mistaken for an answer.
+ */
+public class SearchStoppedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SearchContext.Reason reason;
+
+    private final Long partialResult;
+
+
+
+    /**
+     * @param search A description of the search, e.g. "Day10 part 2".
+     * @param reason Why the search was stopped.
+     * @param partialResult The best result found before the search was
+     *            stopped, or {@code null} if there is none.
+     */
+    public SearchStoppedException(String search, SearchContext.Reason reason, Long partialResult) {
+        super("%s was stopped (%s), with %s".formatted(search,
+                                                        reason.toString().toLowerCase(),
+                                                        partialResult == null ? "no result" : "a partial result of " + partialResult));
+        this.reason = reason;
+        this.partialResult = partialResult;
+    }
+
+
+
+    /**
+     * @return Why the search was stopped.
+     */
+    public SearchContext.Reason reason() {
+        return reason;
+    }
+
+
+
+    /**
+     * @return The best result found before the search was stopped, or
+     *         {@code null} if there is none.
+     */
+    public Long partialResult() {
+        return partialResult;
+    }
+
+}
@@ -0,0 +1,578 @@
+package aoc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Runs every {@link Puzzle} of the season on its real input, and reports what
+ * each stage cost: its wall time, allocation and garbage collection (see
+ * {@link Measurement}).
+ * <p>
+ * By default the days are run concurrently: each day is driven by a virtual
+ * thread, which reads its input, and the CPU-bound stages (parsing and each
+ * part) run on platform threads, no more than one per processor at a time.
+ * With {@code --sequential} the days are run one after another, one stage at
+ * a time, for cleaner timings.
+ * <p>
+ * Each stage runs with a {@link SearchContext} whose deadline is the timeout,
+ * so a search which checks it stops itself, and is reported as stopped, with
+ * its partial result. Any other stage which takes longer than the timeout is
+ * reported as timed out. It can't be stopped, so it carries on running on a
+ * daemon thread until the season ends, but it no longer counts towards the
+ * limit. Stages known to be too slow can be skipped, e.g.
+ * {@code --skip Day10.part2}.
+ * <p>
+ * Each day can be run repeatedly, with {@code --warmup} rounds which are not
+ * measured followed by {@code --iterations} measured rounds, in which case
+ * the median of each stage is reported. {@code --json} writes the results to
+ * a file as well, for the {@code perfGate} Gradle task.
+ * <p>
+ * Usage: {@code Season [--sequential] [--timeout seconds] [--warmup rounds]
+ * [--iterations rounds] [--skip Day01.part1,...] [--json file] [--verbose]
+ * [day...]}
+ */
+public final class Season {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Season.class);
+
+    private static final int YEAR = 2025;
+
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(60);
+
+    /** The number of recent trace events to dump when a stage fails. */
+    private static final int TRACE_EVENTS = 100;
+
+    /** How long after its deadline a search has to stop, before it is abandoned. */
+    private static final Duration STOP_GRACE = Duration.ofSeconds(1);
+
+    /** Limits the number of stages running at once. */
+    private final Semaphore running;
+
+    private final boolean sequential;
+
+    private final Duration timeout;
+
+    /** The number of unmeasured rounds to run each day before measuring it. */
+    private int warmup = 0;
+
+    /** The number of measured rounds to run each day. */
+    private int iterations = 1;
+
+    /** The stages not to run, e.g. {@code Day10.part2}. */
+    private Set<String> skipped = Set.of();
+
+
+
+    /**
+     * @param sequential {@code true} to run one stage at a time, or
+     *            {@code false} to run the days concurrently.
+     * @param timeout The time after which a stage is abandoned.
+     */
+    public Season(boolean sequential, Duration timeout) {
+        this.sequential = sequential;
+        this.timeout = timeout;
+        this.running = new Semaphore(sequential ? 1 : Runtime.getRuntime().availableProcessors());
+    }
+
+
+
+    /**
+     * @param warmup The number of rounds to run each day before measuring it.
+     * @param iterations The number of measured rounds to run each day. Must
+     *            be at least 1.
+     * @return This season.
+     */
+    public Season repeat(int warmup, int iterations) {
+        if (warmup < 0 || iterations < 1)
+            throw new IllegalArgumentException("Invalid number of rounds: %d warmup, %d iterations".formatted(warmup, iterations));
+        this.warmup = warmup;
+        this.iterations = iterations;
+        return this;
+    }
+
+
+
+    /**
+     * @param stages The stages not to run, named like {@code Day10.part2}.
+     * @return This season.
+     */
+    public Season skip(Collection<String> stages) {
+        this.skipped = Set.copyOf(stages);
+        return this;
+    }
+
+
+
+    public static void main(String[] args) {
+        boolean sequential = false;
+        boolean verbose = false;
+        Duration timeout = DEFAULT_TIMEOUT;
+        int warmup = 0;
+        int iterations = 1;
+        List<String> skipped = new ArrayList<>();
+        Path json = null;
+        List<Integer> days = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--sequential" -> sequential = true;
+                case "--verbose" -> verbose = true;
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--skip" -> skipped.addAll(Arrays.asList(args[++i].split(",")));
+                case "--json" -> json = Path.of(args[++i]);
+                default -> days.add(Integer.valueOf(args[i].replaceFirst("^Day", "")));
+            }
+        }
+
+        // The days' own logging would drown out the report
+        if (!verbose)
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("aoc._" + YEAR).setLevel(Level.WARN);
+
+        List<Puzzle<Object>> puzzles = days.isEmpty() ? Puzzles.discover(YEAR)
+                                                      : days.stream()
+                                                            .map(d -> Puzzles.create(YEAR, d)
+                                                                             .orElseThrow(() -> new IllegalArgumentException("No puzzle for day " + d)))
+                                                            .toList();
+
+        Season season = new Season(sequential, timeout).repeat(warmup, iterations).skip(skipped);
+        List<DayResult> results = season.run(puzzles);
+        if (json != null)
+            season.writeJson(results, json);
+    }
+
+
+
+    /**
+     * Run the puzzles, and log a report of the results.
+     *
+     * @param puzzles The puzzles to run.
+     * @return The results for each puzzle, in the same order.
+     */
+    public List<DayResult> run(List<Puzzle<Object>> puzzles) {
+        log.info("Running {} days {}, with a timeout of {} s per stage",
+                 puzzles.size(), sequential ? "sequentially" : "concurrently", timeout.toSeconds());
+        if (warmup > 0 || iterations > 1)
+            log.info("Each day is run {} times after {} warmup rounds, and the median times are reported", iterations, warmup);
+
+        long start = System.nanoTime();
+        List<DayResult> results;
+        if (sequential) {
+            results = puzzles.stream().map(this::runDay).toList();
+        } else {
+            List<Future<DayResult>> futures;
+            // Closing the executor waits for every day to finish
+            try (ExecutorService days = Executors.newVirtualThreadPerTaskExecutor()) {
+                futures = puzzles.stream()
+                                 .map(p -> days.submit(() -> runDay(p)))
+                                 .toList();
+            }
+            results = futures.stream().map(Future::resultNow).toList();
+        }
+        long total = System.nanoTime() - start;
+
+        report(results, total);
+        return results;
+    }
+
+
+
+    /**
+     * Read the input for a puzzle, then parse it and solve each part.
+     */
+    private DayResult runDay(Puzzle<Object> puzzle) {
+        List<String> lines = FileUtils.readFile(puzzle.inputFile());
+        if (lines.isEmpty()) {
+            log.error("{} has no input", puzzle.getClass().getSimpleName());
+            return new DayResult(puzzle.getClass().getSimpleName(), Stage.failed(), Stage.failed(), Stage.failed());
+        }
+
+        return runDay(puzzle, lines);
+    }
+
+
+
+    /**
+     * Parse an input for a puzzle and solve each part, for each round, without
+     * logging a report. A stage which doesn't finish is not run again.
+     *
+     * @param puzzle The puzzle to run.
+     * @param lines The input, which need not be the puzzle's input file, e.g.
+     *            a generated one.
+     * @return The results.
+     */
+    public DayResult runDay(Puzzle<Object> puzzle, List<String> lines) {
+        String day = puzzle.getClass().getSimpleName();
+
+        Samples<Object> parse = new Samples<>();
+        Samples<Long> part1 = new Samples<>();
+        Samples<Long> part2 = new Samples<>();
+
+        for (int round = 0; round < warmup + iterations; round++) {
+            boolean measured = round >= warmup;
+
+            Stage<Object> parsed = stage(puzzle, "parse", () -> puzzle.parse(lines));
+            parse.add(parsed.withoutValue(), measured);
+            if (parse.isFinished())
+                return new DayResult(day, parse.toStage(), Stage.failed(), Stage.failed());
+
+            Object input = parsed.value();
+            if (!part1.isFinished())
+                part1.add(skipped.contains(day + ".part1") ? Stage.skipped() : stage(puzzle, "part 1", () -> puzzle.part1(input)),
+                          measured);
+            if (!part2.isFinished())
+                part2.add(skipped.contains(day + ".part2") ? Stage.skipped() : stage(puzzle, "part 2", () -> puzzle.part2(input)),
+                          measured);
+        }
+
+        return new DayResult(day, parse.toStage(), part1.toStage(), part2.toStage());
+    }
+
+
+
+    /**
+     * Run a stage on its own daemon thread, once one is available, and wait
+     * for it to finish or time out.
+     */
+    private <T> Stage<T> stage(Puzzle<?> puzzle, String stageName, Callable<T> task) {
+        String name = puzzle.getClass().getSimpleName() + " " + stageName;
+        running.acquireUninterruptibly();
+        try (SearchContext context = SearchContext.withDeadline(name, timeout)) {
+            long traceMark = TraceBuffer.position();
+            FutureTask<Stage<T>> future = new FutureTask<>(() -> {
+                PuzzleEvent event = new PuzzleEvent(puzzle, stageName, false);
+                Measurement.Stopwatch stopwatch = Measurement.start();
+                try {
+                    T value = context.call(task);
+                    Measurement measurement = stopwatch.stop();
+                    event.commit();
+                    return new Stage<>(Status.SOLVED, value, List.of(measurement));
+                } catch (SearchStoppedException e) {
+                    log.warn("{}", e.getMessage());
+                    // Only the parts have partial results, which are answers
+                    @SuppressWarnings("unchecked")
+                    T partialResult = (T) e.partialResult();
+                    return new Stage<>(Status.STOPPED, partialResult, List.of(stopwatch.stop()));
+                }
+            });
+            Thread.ofPlatform().daemon().name(name).start(future);
+
+            try {
+                // Give a search which checks its deadline a moment to stop itself
+                return future.get(timeout.plus(STOP_GRACE).toNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                context.cancel();
+                log.warn("{} did not finish within {} s", name, timeout.toSeconds());
+                return new Stage<>(Status.TIMED_OUT, null, List.of(new Measurement(timeout.toNanos(), -1, 0, 0, 0)));
+            } catch (ExecutionException e) {
+                log.error("{} failed", name, e.getCause());
+                // Other stages may be running, so this may include their events too
+                TraceBuffer.dump(log, traceMark, TRACE_EVENTS);
+                return Stage.failed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                context.cancel();
+                return Stage.failed();
+            }
+        } finally {
+            running.release();
+        }
+    }
+
+
+
+    private void report(List<DayResult> results, long total) {
+        String format = "%-6s %13s | %13s %11s %14s %-16s | %13s %11s %14s %-16s | %10s";
+        log.info("{}", format.formatted("", "Parse", "Part 1", "Allocated", "GC", "", "Part 2", "Allocated", "GC", "", "Peak heap"));
+        for (DayResult result : results)
+            log.info("{}", format.formatted(result.day(),
+                                            result.parse().time(),
+                                            result.part1().time(),
+                                            result.part1().allocated(),
+                                            result.part1().gc(),
+                                            result.part1().answer(),
+                                            result.part2().time(),
+                                            result.part2().allocated(),
+                                            result.part2().gc(),
+                                            result.part2().answer(),
+                                            Measurement.formatBytes(result.peakHeapBytes())));
+
+        long stages = results.stream().mapToLong(DayResult::nanos).sum();
+        log.info("Season ran in {} (the stages took {} in total)",
+                 PuzzleRunner.formatNanos(total), PuzzleRunner.formatNanos(stages));
+        if (!sequential)
+            log.info("The days ran concurrently, so the GC and peak heap figures are shared between them.");
+    }
+
+
+
+    /**
+     * Write the results to a JSON file, with an entry for each stage of each
+     * day, named like {@code Day01.part1}.
+     *
+     * @param results The results of the season.
+     * @param file The file to write.
+     */
+    public void writeJson(List<DayResult> results, Path file) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"warmup\": ").append(warmup).append(",\n");
+        json.append("  \"iterations\": ").append(iterations).append(",\n");
+        json.append("  \"sequential\": ").append(sequential).append(",\n");
+        json.append("  \"results\": {");
+
+        String separator = "\n";
+        for (DayResult result : results) {
+            for (Map.Entry<String, Stage<?>> stage : result.stages().entrySet()) {
+                Stage<?> value = stage.getValue();
+                long[] nanos = value.samples().stream().mapToLong(Measurement::nanos).sorted().toArray();
+                json.append(separator)
+                    .append("    \"").append(result.day()).append('.').append(stage.getKey()).append("\": {")
+                    .append("\"status\": \"").append(value.status()).append("\", ")
+                    .append("\"answer\": ").append(value.value() == null ? "null" : "\"" + value.value() + "\"").append(", ")
+                    .append("\"medianMillis\": ").append(value.nanos() / 1e6).append(", ")
+                    .append("\"minMillis\": ").append(nanos[0] / 1e6).append(", ")
+                    .append("\"maxMillis\": ").append(nanos[nanos.length - 1] / 1e6).append(", ")
+                    .append("\"allocatedBytes\": ").append(value.measurement().allocatedBytes()).append(", ")
+                    .append("\"gcMillis\": ").append(value.measurement().gcMillis()).append(", ")
+                    .append("\"peakHeapBytes\": ").append(value.measurement().peakHeapBytes()).append(", ")
+                    .append("\"samples\": ").append(value.status() == Status.SOLVED ? nanos.length : 0)
+                    .append("}");
+                separator = ",\n";
+            }
+        }
+        json.append("\n  }\n}\n");
+
+        try {
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+            Files.writeString(file, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+        log.info("Wrote the results to {}", file);
+    }
+
+
+
+    /**
+     * How a stage ended.
+     */
+    public enum Status {
+        SOLVED,
+        /** Stopped by its deadline, with its partial result, if it has one. */
+        STOPPED,
+        TIMED_OUT,
+        FAILED,
+        SKIPPED
+    }
+
+
+
+    /**
+     * The result of a stage of a puzzle.
+     *
+     * @param <T> The type of the stage's result.
+     * @param status How the stage ended.
+     * @param value The result, if the stage was solved.
+     * @param samples What the stage cost, in each measured round.
+     */
+    public record Stage<T>(Status status, T value, List<Measurement> samples) {
+
+        static <T> Stage<T> failed() {
+            return new Stage<>(Status.FAILED, null, List.of(Measurement.NONE));
+        }
+
+
+
+        static <T> Stage<T> skipped() {
+            return new Stage<>(Status.SKIPPED, null, List.of(Measurement.NONE));
+        }
+
+
+
+        /**
+         * @return What the stage cost in the round with the median wall time.
+         */
+        public Measurement measurement() {
+            return samples.stream()
+                          .sorted(Comparator.comparingLong(Measurement::nanos))
+                          .toList()
+                          .get(samples.size() / 2);
+        }
+
+
+
+        /**
+         * @return The median wall time taken by the stage, in nanoseconds.
+         */
+        public long nanos() {
+            return measurement().nanos();
+        }
+
+
+
+        /**
+         * @return This stage, without its value, so it can be released.
+         */
+        Stage<T> withoutValue() {
+            return new Stage<>(status, null, samples);
+        }
+
+
+
+        String time() {
+            return switch (status) {
+                case SOLVED -> PuzzleRunner.formatNanos(nanos());
+                case STOPPED -> "stopped";
+                case TIMED_OUT -> "timed out";
+                case FAILED -> "failed";
+                case SKIPPED -> "skipped";
+            };
+        }
+
+
+
+        String allocated() {
+            return status == Status.SOLVED ? Measurement.formatBytes(measurement().allocatedBytes()) : "";
+        }
+
+
+
+        String gc() {
+            Measurement measurement = measurement();
+            return status == Status.SOLVED ? "%d (%d ms)".formatted(measurement.gcCount(), measurement.gcMillis()) : "";
+        }
+
+
+
+        String answer() {
+            if (value == null)
+                return "";
+            return status == Status.STOPPED ? "partial " + value : value.toString();
+        }
+    }
+
+
+
+    /**
+     * The results of a day's puzzle.
+     *
+     * @param day The name of the day's class.
+     * @param parse The result of parsing the input, without its value.
+     * @param part1 The result of part 1.
+     * @param part2 The result of part 2.
+     */
+    public record DayResult(String day, Stage<Object> parse, Stage<Long> part1, Stage<Long> part2) {
+
+        /**
+         * @return The total wall time taken by the stages, in nanoseconds.
+         */
+        public long nanos() {
+            return parse.nanos() + part1.nanos() + part2.nanos();
+        }
+
+
+
+        /**
+         * @return The stages, by name: {@code parse}, {@code part1} and
+         *         {@code part2}.
+         */
+        public Map<String, Stage<?>> stages() {
+            Map<String, Stage<?>> stages = new LinkedHashMap<>();
+            stages.put("parse", parse);
+            stages.put("part1", part1);
+            stages.put("part2", part2);
+            return stages;
+        }
+
+
+
+        /**
+         * @return The highest peak heap usage of the stages, in bytes.
+         */
+        public long peakHeapBytes() {
+            return Math.max(parse.measurement().peakHeapBytes(),
+                            Math.max(part1.measurement().peakHeapBytes(), part2.measurement().peakHeapBytes()));
+        }
+    }
+
+
+
+    /**
+     * Collects the results of a stage over several rounds.
+     */
+    private static final class Samples<T> {
+
+        private Status status = Status.SOLVED;
+
+        private T value;
+
+        private final List<Measurement> measurements = new ArrayList<>();
+
+
+
+        /**
+         * @param stage The result of a round.
+         * @param measured {@code false} for a warmup round.
+         */
+        void add(Stage<T> stage, boolean measured) {
+            if (stage.status() != Status.SOLVED) {
+                // Report the stage as it ended, rather than any earlier rounds
+                status = stage.status();
+                value = stage.value();
+                measurements.clear();
+                measurements.addAll(stage.samples());
+            } else {
+                value = stage.value();
+                if (measured)
+                    measurements.addAll(stage.samples());
+            }
+        }
+
+
+
+        /**
+         * @return {@code true} if the stage won't be run again.
+         */
+        boolean isFinished() {
+            return status != Status.SOLVED;
+        }
+
+
+
+        Stage<T> toStage() {
+            return new Stage<>(status, value, List.copyOf(measurements));
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package aoc;
+
+import org.slf4j.Logger;
+
+/**
+ * Guards for debug and trace logging in hot loops.
+ * <p>
+ * Even when its level is disabled, a logging call costs a level check, and
+ * often boxing its arguments or capturing a lambda. Guarding it with
+ * {@link #ENABLED}, a {@code static final} constant, lets the JIT compiler
+ * remove it entirely when tracing is off:
+ *
+ * <pre>
+ * if (Trace.debug(log))
+ *     log.debug("From {}, to {}", state, newStates);
+ * </pre>
+ *
+ * Tracing is off by default, and is turned on for a tracing run with
+ * {@code -Daoc.trace=true}, which brings back the debug output of the
+ * puzzles and the {@link TraceBuffer} events.
+ */
+public final class Trace {
+
+    /** Whether tracing is on, from the {@code aoc.trace} system property. */
+    public static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("aoc.trace", "false"));
+
+
+
+    private Trace() {
+    }
+
+
+
+    /**
+     * @param log The logger to check.
+     * @return {@code true} if tracing is on and the logger is enabled for debug
+     *         messages.
+     */
+    public static boolean debug(Logger log) {
+        return ENABLED && log.isDebugEnabled();
+    }
+
+
+
+    /**
+     * @param log The logger to check.
+     * @return {@code true} if tracing is on and the logger is enabled for trace
+     *         messages.
+     */
+    public static boolean trace(Logger log) {
+        return ENABLED && log.isTraceEnabled();
+    }
+
+}
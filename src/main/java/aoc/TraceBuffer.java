@@ -0,0 +1,193 @@
+package aoc;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * A lock-free ring buffer of the most recent trace events, to be dumped when
+ * something goes wrong.
+ * <p>
+ * Recording an event only stores its message pattern (a constant, in the
+ * {@code {}} style of SLF4J) and up to three {@code long} arguments, so it
+ * costs little; the message is only formatted if the event is dumped. Every
+ * event takes the next sequence number from one shared counter, though, so a
+ * call in a hot loop, which may run on several threads at once, is guarded
+ * with {@link Trace#ENABLED} at the call site, which removes it entirely when
+ * tracing is off.
+ * <p>
+ * Any number of threads may record at once. The buffer holds the last 16384
+ * events by default, which can be changed with the {@code aoc.trace.buffer}
+ * system property (rounded up to a power of two). A slot which is being
+ * overwritten while it is dumped is skipped.
+ */
+public final class TraceBuffer {
+
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(1, Integer.getInteger("aoc.trace.buffer", 1 << 14)) * 2 - 1);
+
+    private static final int MASK = CAPACITY - 1;
+
+    private static final int ARGUMENTS = 3;
+
+    /** The sequence number of the next event. */
+    private static final AtomicLong cursor = new AtomicLong();
+
+    /** The sequence number of the event in each slot, or -1 while it is written. */
+    private static final AtomicLongArray sequences = new AtomicLongArray(CAPACITY);
+
+    private static final String[] messages = new String[CAPACITY];
+
+    private static final int[] argumentCounts = new int[CAPACITY];
+
+    private static final long[] arguments = new long[CAPACITY * ARGUMENTS];
+
+    private static final long[] times = new long[CAPACITY];
+
+    private static final long[] threads = new long[CAPACITY];
+
+    static {
+        for (int i = 0; i < CAPACITY; i++)
+            sequences.set(i, -1);
+    }
+
+
+
+    private TraceBuffer() {
+    }
+
+
+
+    /**
+     * @param message The message pattern, with a {@code {}} placeholder for
+     *            the argument.
+     * @param argument The argument.
+     */
+    public static void record(String message, long argument) {
+        if (Trace.ENABLED)
+            record(message, 1, argument, 0, 0);
+    }
+
+
+
+    /**
+     * @param message The message pattern, with {@code {}} placeholders for
+     *            the arguments.
+     * @param first The first argument.
+     * @param second The second argument.
+     */
+    public static void record(String message, long first, long second) {
+        if (Trace.ENABLED)
+            record(message, 2, first, second, 0);
+    }
+
+
+
+    /**
+     * @param message The message pattern, with {@code {}} placeholders for
+     *            the arguments.
+     * @param first The first argument.
+     * @param second The second argument.
+     * @param third The third argument.
+     */
+    public static void record(String message, long first, long second, long third) {
+        if (Trace.ENABLED)
+            record(message, 3, first, second, third);
+    }
+
+
+
+    private static void record(String message, int argumentCount, long first, long second, long third) {
+        long sequence = cursor.getAndIncrement();
+        int slot = (int) (sequence & MASK);
+
+        // Invalidate the slot before overwriting it, so a dump can't read it half-written
+        sequences.set(slot, -1);
+        VarHandle.storeStoreFence();
+
+        messages[slot] = message;
+        argumentCounts[slot] = argumentCount;
+        arguments[slot * ARGUMENTS] = first;
+        arguments[slot * ARGUMENTS + 1] = second;
+        arguments[slot * ARGUMENTS + 2] = third;
+        times[slot] = System.nanoTime();
+        threads[slot] = Thread.currentThread().threadId();
+
+        sequences.setRelease(slot, sequence);
+    }
+
+
+
+    /**
+     * @return A position in the buffer, before any event recorded after this
+     *         call, to be passed to {@link #dump(Logger, long, int)}.
+     */
+    public static long position() {
+        return cursor.get();
+    }
+
+
+
+    /**
+     * Format the most recent events recorded since a position.
+     *
+     * @param since The {@link #position()} from which to include events.
+     * @param limit The maximum number of events to include.
+     * @return The formatted events, oldest first.
+     */
+    public static List<String> recent(long since, int limit) {
+        long end = cursor.get();
+        long start = Math.max(Math.max(since, end - limit), end - CAPACITY);
+        long now = System.nanoTime();
+
+        List<String> events = new ArrayList<>();
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = (int) (sequence & MASK);
+            if (sequences.getAcquire(slot) != sequence)
+                continue;
+
+            String message = messages[slot];
+            int argumentCount = argumentCounts[slot];
+            Object[] values = new Object[argumentCount];
+            for (int i = 0; i < argumentCount; i++)
+                values[i] = arguments[slot * ARGUMENTS + i];
+            long time = times[slot];
+            long thread = threads[slot];
+
+            // Skip the slot if it was overwritten while it was read
+            VarHandle.loadLoadFence();
+            if (sequences.get(slot) != sequence)
+                continue;
+
+            events.add("%10.3f ms ago [%d] %s".formatted((now - time) / 1e6,
+                                                         thread,
+                                                         MessageFormatter.arrayFormat(message, values).getMessage()));
+        }
+        return events;
+    }
+
+
+
+    /**
+     * Log the most recent events recorded since a position, at error level.
+     *
+     * @param log The logger to write them to.
+     * @param since The {@link #position()} from which to include events.
+     * @param limit The maximum number of events to include.
+     */
+    public static void dump(Logger log, long since, int limit) {
+        if (!Trace.ENABLED)
+            return;
+
+        List<String> events = recent(since, limit);
+        if (events.isEmpty())
+            log.error("No trace events were recorded.");
+        else
+            log.error("The last {} trace events:\n{}", events.size(), String.join("\n", events));
+    }
+
+}
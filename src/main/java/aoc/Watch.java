@@ -0,0 +1,220 @@
+package aoc;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.SequencedSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.Season.DayResult;
+import aoc.Season.Stage;
+import aoc.Season.Status;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Stays resident and watches the input and example input directories, and
+ * re-runs a day whenever one of its input files changes, so the JIT compiled
+ * code, and each puzzle's own caches, stay warm between runs. Each run is
+ * reported along with how much faster or slower each stage was than the last
+ * time that input was run, and whether its answers changed.
+ * <p>
+ * The files are read from the source directories rather than the classpath,
+ * so a change is seen without a build. Every watched day is run once on
+ * starting, to warm it up. The example input is solved by the same puzzle as
+ * the real input, so a day which is configured differently for its example
+ * (e.g. {@code Day08}) gives a different answer than its {@code main}.
+ * <p>
+ * Usage: {@code Watch [--resources dir] [--timeout seconds]
+ * [--skip Day01.part1,...] [--verbose] [day...]}
+ */
+public final class Watch {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Watch.class);
+
+    private static final int YEAR = 2025;
+
+    private static final Pattern INPUT_FILE = Pattern.compile("Day(\\d{2})\\.txt");
+
+    /** How long to wait for more changes, as an editor often writes a file in several steps. */
+    private static final Duration SETTLE = Duration.ofMillis(200);
+
+    private final Path resources;
+
+    private final Season season;
+
+    /** The puzzles being watched, by day, which are kept for every run. */
+    private final Map<Integer, Puzzle<Object>> puzzles;
+
+    /** The last result for each input file, to compare the next run with. */
+    private final Map<Path, DayResult> lastResults = new HashMap<>();
+
+
+
+    /**
+     * @param resources The directory containing the {@code input} and
+     *            {@code testInput} directories.
+     * @param season Runs each day.
+     * @param puzzles The puzzles to watch, by day.
+     */
+    public Watch(Path resources, Season season, Map<Integer, Puzzle<Object>> puzzles) {
+        this.resources = resources;
+        this.season = season;
+        this.puzzles = puzzles;
+    }
+
+
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path resources = Path.of("src/main/resources");
+        Duration timeout = Duration.ofSeconds(60);
+        boolean verbose = false;
+        List<String> skipped = new ArrayList<>();
+        List<Integer> days = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--resources" -> resources = Path.of(args[++i]);
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--skip" -> skipped.addAll(Arrays.asList(args[++i].split(",")));
+                case "--verbose" -> verbose = true;
+                default -> days.add(Integer.valueOf(args[i].replaceFirst("^Day", "")));
+            }
+        }
+
+        // The days' own logging would drown out the report
+        if (!verbose)
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("aoc._" + YEAR).setLevel(Level.WARN);
+
+        Map<Integer, Puzzle<Object>> puzzles = new LinkedHashMap<>();
+        for (int day = 1; day <= Puzzles.DAYS; day++)
+            if (days.isEmpty() || days.contains(day)) {
+                int d = day;
+                Puzzles.create(YEAR, day).ifPresentOrElse(p -> puzzles.put(d, p), () -> {
+                    if (!days.isEmpty())
+                        throw new IllegalArgumentException("No puzzle for day " + d);
+                });
+            }
+
+        new Watch(resources, new Season(true, timeout).skip(skipped), puzzles).run();
+    }
+
+
+
+    /**
+     * Run every watched day once, then re-run the days whose inputs change,
+     * until interrupted.
+     *
+     * @throws IOException If the directories can't be watched.
+     * @throws InterruptedException If interrupted while waiting for changes.
+     */
+    public void run() throws IOException, InterruptedException {
+        List<Path> directories = List.of(resources.resolve("input"), resources.resolve("testInput"));
+
+        try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+            for (Path directory : directories)
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            log.info("Warming up {} days", puzzles.size());
+            for (int day : puzzles.keySet())
+                for (Path directory : directories)
+                    runDay(day, directory.resolve(fileName(day)));
+
+            log.info("Watching {} for changes", directories);
+            while (true) {
+                SequencedSet<Path> changed = new LinkedHashSet<>();
+                WatchKey key = watcher.take();
+                // Keep collecting until the changes settle, so each file is run once
+                while (key != null) {
+                    Path directory = (Path) key.watchable();
+                    for (WatchEvent<?> event : key.pollEvents())
+                        if (event.context() instanceof Path file)
+                            changed.add(directory.resolve(file));
+                    key.reset();
+                    key = watcher.poll(SETTLE.toMillis(), TimeUnit.MILLISECONDS);
+                }
+
+                for (Path file : changed) {
+                    Matcher matcher = INPUT_FILE.matcher(file.getFileName().toString());
+                    if (matcher.matches() && puzzles.containsKey(Integer.parseInt(matcher.group(1))))
+                        runDay(Integer.parseInt(matcher.group(1)), file);
+                }
+            }
+        }
+    }
+
+
+
+    /**
+     * Run a day on an input file, if it has any input, and report the result
+     * against the last run of the same file.
+     */
+    private void runDay(int day, Path file) {
+        List<String> lines;
+        try {
+            lines = Files.exists(file) ? Files.readAllLines(file) : List.of();
+        } catch (IOException e) {
+            log.warn("Could not read {}", file, e);
+            return;
+        }
+        if (lines.isEmpty())
+            return;
+
+        DayResult result = season.runDay(puzzles.get(day), lines);
+        DayResult last = lastResults.put(file, result);
+
+        String input = file.getParent().getFileName() + "/" + file.getFileName();
+        log.info("{} {}", "%-20s".formatted(input),
+                 String.join("  ", describe("parse", result.parse(), last == null ? null : last.parse()),
+                             describe("part 1", result.part1(), last == null ? null : last.part1()),
+                             describe("part 2", result.part2(), last == null ? null : last.part2())));
+    }
+
+
+
+    /**
+     * @return The answer and time of a stage, and how they changed since the
+     *         last run.
+     */
+    private static String describe(String name, Stage<?> stage, Stage<?> last) {
+        if (stage.status() != Status.SOLVED)
+            return name + " " + stage.status().toString().toLowerCase().replace('_', ' ');
+
+        StringBuilder description = new StringBuilder(name);
+        if (stage.value() != null) {
+            description.append(' ').append(stage.value());
+            if (last != null && last.status() == Status.SOLVED && !stage.value().equals(last.value()))
+                description.append(" (was ").append(last.value()).append(')');
+            description.append(" in");
+        }
+        description.append(' ').append(PuzzleRunner.formatNanos(stage.nanos()));
+        if (last != null && last.status() == Status.SOLVED && last.nanos() > 0)
+            description.append(" (%+.0f%%)".formatted((stage.nanos() / (double) last.nanos() - 1) * 100));
+        return description.toString();
+    }
+
+
+
+    private static String fileName(int day) {
+        return "Day%02d.txt".formatted(day);
+    }
+
+}
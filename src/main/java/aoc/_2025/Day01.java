@@ -5,8 +5,10 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.LoggerFactory;
 
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
+import aoc.TraceBuffer;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -16,60 +18,34 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day01 {
+public class Day01 implements Puzzle<List<Integer>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day01.class);
 
-    private static final String INPUT_TXT = "input/Day01.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day01.txt";
-
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day01(), log)
+                    .part1("The actual password to open the door is {}", 3)
+                    .part2("The password to open the door is {}", 6)
+                    .run();
+    }
 
-        var resultMessage = "The actual password to open the door is {}";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 3;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "The password to open the door is {}";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 6;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        log.info(resultMessage, part2(lines));
+    /**
+     * Parse the turns of the dial, as positive numbers for turns to the right
+     * and negative numbers for turns to the left.
+     * 
+     * @param lines The lines read from the input.
+     * @return The turns of the dial.
+     */
+    @Override
+    public List<Integer> parse(final List<String> lines) {
+        return lines.stream()
+                    .map(l -> l.replace('R', '+').replace('L', '-'))
+                    .map(Integer::valueOf)
+                    .toList();
     }
 
 
@@ -78,18 +54,21 @@ public class Day01 {
      * Starting from 50, follow the turns given in the lines, and count the
      * number of times it stops on 0.
      * 
-     * @param lines The lines read from the input.
+     * @param turns The turns of the dial.
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final List<Integer> turns) {
 
         AtomicInteger dial = new AtomicInteger(50);
 
-        return lines.stream()
-                    .map(l -> l.replace('R', '+').replace('L', '-'))
-                    .mapToInt(Integer::valueOf)
+        return turns.stream()
+                    .mapToInt(Integer::intValue)
                     .map(i -> dial.accumulateAndGet(i, (x, y) -> (x + y + 1000) % 100))
-                    .peek(i -> log.debug("The dial is pointing at {}", i))
+                    .peek(i -> {
+                        if (Trace.debug(log))
+                            log.debug("The dial is pointing at {}", i);
+                    })
                     .filter(i -> i == 0)
                     .count();
 
@@ -101,29 +80,32 @@ public class Day01 {
      * Starting from 50, follow the turns given in the lines, and count the
      * number of times it passes 0.
      * 
-     * @param lines The lines read from the input.
+     * @param turns The turns of the dial.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
+    @Override
+    public long part2(final List<Integer> turns) {
 
         AtomicInteger dial = new AtomicInteger(50);
         AtomicInteger count = new AtomicInteger();
 
-        lines.stream()
-             .map(l -> l.replace('R', '+').replace('L', '-'))
-             .mapToInt(Integer::valueOf)
+        turns.stream()
+             .mapToInt(Integer::intValue)
              .forEach(i -> {
 
                  // Turn the dial
                  int pointTo = dial.addAndGet(i);
 
-                 log.debug("The dial is rotated {} to point to {} ({})", i, (pointTo + 1000) % 100, pointTo);
+                 if (Trace.ENABLED)
+                     TraceBuffer.record("The dial is rotated {} to point to {}", i, pointTo);
+                 if (Trace.debug(log))
+                     log.debug("The dial is rotated {} to point to {} ({})", i, (pointTo + 1000) % 100, pointTo);
 
                  // If the new value is negative (or 0), and it didn't start at 0, add 1 to the multiples of 100
                  var delta = Math.abs(pointTo / 100);
                  delta += (pointTo <= 0 && i != pointTo) ? 1 : 0;
                  count.addAndGet(delta);
-                 if (delta > 0)
+                 if (delta > 0 && Trace.debug(log))
                      log.debug("  during this rotation, it points at 0, {} times.", delta);
 
                  // Reset the modulus
@@ -1,17 +1,18 @@
 package aoc._2025;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -21,64 +22,33 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day02 {
+public class Day02 implements Puzzle<List<Range<Long>>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day02.class);
 
-    private static final String INPUT_TXT = "input/Day02.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day02.txt";
-
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day02(), log)
+                    .part1("The sum of the invalid IDs is {}", 1_227_775_554L)
+                    .part2("{}", 4_174_379_265L)
+                    .run();
+    }
 
-        var resultMessage = "The sum of the invalid IDs is {}";
-
-        log.info("Part 1:");
-        log.setLevel(Level.TRACE);
-
-        // Read the test file
-        List<String> testRanges = Arrays.asList(FileUtils.readFile(TEST_INPUT_TXT)
-                                                         .getFirst()
-                                                         .split(","));
-
-        var expectedTestResult = 1_227_775_554L;
-        var testResult = part1(testRanges);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> ranges = Arrays.asList(FileUtils.readFile(INPUT_TXT)
-                                                     .getFirst()
-                                                     .split(","));
-
-        log.info(resultMessage, part1(ranges));
-
-        // PART 2
-        resultMessage = "{}";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 4_174_379_265L;
-        testResult = part2(testRanges);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        log.info(resultMessage, part2(ranges));
+    /**
+     * Parse the comma separated ranges on the first line of the input.
+     * 
+     * @param lines The lines read from the input.
+     * @return The ranges of IDs.
+     */
+    @Override
+    public List<Range<Long>> parse(final List<String> lines) {
+        return Stream.of(lines.getFirst().split(","))
+                     .map(r -> Range.of(Long.valueOf(r.split("-")[0]),
+                                        Long.valueOf(r.split("-")[1])))
+                     .toList();
     }
 
 
@@ -91,14 +61,13 @@ public class Day02 {
      * 
      * @return The sum of all "invalid" IDs.
      */
-    private static long part1(final List<String> ranges) {
+    @Override
+    public long part1(final List<Range<Long>> ranges) {
 
         return ranges.stream()
-                     .map(r -> Range.of(Long.valueOf(r.split("-")[0]),
-                                        Long.valueOf(r.split("-")[1])))
                      .map(Day02::findDoubledIDs)
                      .peek(l -> {
-                         if (!l.isEmpty())
+                         if (!l.isEmpty() && Trace.debug(log))
                              log.debug("Invalid IDs {}", l);
                      })
                      .flatMap(Collection::stream)
@@ -137,7 +106,8 @@ public class Day02 {
      */
     private static List<Long> findRepeatedIDs(Range<Long> range, int repeats) {
 
-        log.debug("Range {}", range);
+        if (Trace.debug(log))
+            log.debug("Range {}", range);
 
         // Find the range of the first half
         var max = range.getMaximum().toString();
@@ -154,7 +124,8 @@ public class Day02 {
             log.error("Could not create a range from {} ({}-{})", range, min, max, nfe);
             return Collections.emptyList();
         }
-        log.trace("Checking {}, {} times", halfRange, repeats);
+        if (Trace.trace(log))
+            log.trace("Checking {}, {} times", halfRange, repeats);
 
         return IntStream.rangeClosed(halfRange.getMinimum(), halfRange.getMaximum())
                         .mapToLong(i -> Long.valueOf("%1$d".repeat(repeats).formatted(i)))
@@ -169,15 +140,14 @@ public class Day02 {
      * Given a particular range, find IDs in the range which are exactly a
      * repeated sequence of digits.
      * 
-     * @param ranges The lines read from the input.
+     * @param ranges The ranges read from the input.
      * 
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> ranges) {
+    @Override
+    public long part2(final List<Range<Long>> ranges) {
 
         return ranges.stream()
-                     .map(r -> Range.of(Long.valueOf(r.split("-")[0]),
-                                        Long.valueOf(r.split("-")[1])))
                      // Try all the multiples from 2 to the length of the longest string
                      .map(r -> IntStream.rangeClosed(2, r.getMaximum().toString().length())
                                         // Skip anything that isn't a multiple of one of the string's lengths
@@ -188,7 +158,7 @@ public class Day02 {
                                         .distinct()
                                         .toList())
                      .peek(l -> {
-                         if (!l.isEmpty())
+                         if (!l.isEmpty() && Trace.debug(log))
                              log.debug("Invalid IDs {}", l);
                      })
                      .flatMap(Collection::stream)
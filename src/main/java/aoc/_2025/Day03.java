@@ -4,8 +4,11 @@ import java.util.List;
 
 import org.slf4j.LoggerFactory;
 
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.ExecutionPolicy;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
+import aoc.TraceBuffer;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -15,60 +18,30 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day03 {
+public class Day03 implements Puzzle<List<String>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day03.class);
 
-    private static final String INPUT_TXT = "input/Day03.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day03.txt";
-
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day03(), log)
+                    .part1("The total output joltage is {}", 357L)
+                    .part2("The total output joltage is {}", 3_121_910_778_619L)
+                    .run();
+    }
 
-        var resultMessage = "The total output joltage is {}";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 357L;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-
-        log.info(resultMessage, part1(lines));  // 17281
-
-        // PART 2
-        resultMessage = "The total output joltage is {}";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 3_121_910_778_619L;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        log.info(resultMessage, part2(lines));
+    /**
+     * The banks of batteries are used as they are read.
+     * 
+     * @param lines The lines read from the input.
+     * @return The lines of digits.
+     */
+    @Override
+    public List<String> parse(final List<String> lines) {
+        return lines;
     }
 
 
@@ -80,11 +53,12 @@ public class Day03 {
      * @param lines The lines read from the input.
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final List<String> lines) {
 
-        return lines.stream()
-                    .mapToLong(l -> Day03.findLargestJoltage(l, 2))
-                    .sum();
+        // Each line takes about half a microsecond
+        return ExecutionPolicy.choose("Day03 part 1", lines.size(), 500, true)
+                              .sum(lines.size(), i -> Day03.findLargestJoltage(lines.get(i), 2));
 
     }
 
@@ -124,9 +98,13 @@ public class Day03 {
                 subString = subString.substring(subString.indexOf(foundDigit) + 1);
         }
 
-        log.debug("In {} the largest {}-digit joltage possible is {}.", line, length, joltageString);
+        long joltage = Long.parseLong(joltageString.toString());
+        if (Trace.ENABLED)
+            TraceBuffer.record("The largest {}-digit joltage of a line is {}", length, joltage);
+        if (Trace.debug(log))
+            log.debug("In {} the largest {}-digit joltage possible is {}.", line, length, joltageString);
 
-        return Long.valueOf(joltageString.toString());
+        return joltage;
     }
 
 
@@ -139,11 +117,12 @@ public class Day03 {
      * @return The value of the largest twelve-digit number that can be read
      *         from left to right.
      */
-    private static long part2(final List<String> lines) {
+    @Override
+    public long part2(final List<String> lines) {
 
-        return lines.stream()
-                    .mapToLong(l -> Day03.findLargestJoltage(l, 12))
-                    .sum();
+        // Each line takes about five microseconds
+        return ExecutionPolicy.choose("Day03 part 2", lines.size(), 5_000, true)
+                              .sum(lines.size(), i -> Day03.findLargestJoltage(lines.get(i), 12));
 
     }
 
@@ -1,6 +1,8 @@
 package aoc._2025;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -8,8 +10,9 @@ import org.apache.commons.collections4.SetUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -19,60 +22,32 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day04 {
+public class Day04 implements Puzzle<Day04.PaperRolls> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day04.class);
 
-    private static final String INPUT_TXT = "input/Day04.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day04.txt";
-
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day04(), log)
+                    .part1("{} rolls of paper can be accessed by a forklift.", 13)
+                    .part2("{} rolls of paper in total can be removed by the Elves and their forklifts.", 43)
+                    .run();
+    }
 
-        var resultMessage = "{} rolls of paper can be accessed by a forklift.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 13;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "{} rolls of paper in total can be removed by the Elves and their forklifts.";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 43;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        log.info(resultMessage, part2(lines));
+    /**
+     * Find the rolls of paper, marked by '@', in the grid.
+     * 
+     * @param lines The lines read from the input.
+     * @return The positions of the rolls of paper.
+     */
+    @Override
+    public PaperRolls parse(final List<String> lines) {
+        // Not Set.copyOf: the hash codes of neighbouring coordinates cluster, which
+        // its linear probing turns into long scans for the neighbours which are missing
+        return new PaperRolls(Collections.unmodifiableSet(Coordinate.findCoordinates(lines, '@')), lines.size());
     }
 
 
@@ -80,12 +55,13 @@ public class Day04 {
     /**
      * How many rolls of paper have fewer than 4 adjacent rolls of paper.
      * 
-     * @param lines The lines read from the input.
+     * @param paperRolls The positions of the rolls of paper.
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final PaperRolls paperRolls) {
 
-        var rolls = Coordinate.findCoordinates(lines, '@');
+        var rolls = paperRolls.rolls();
 
         return rolls.stream()
                     .filter(r -> SetUtils.intersection(r.findAdjacent(), rolls).size() < 4)
@@ -98,12 +74,14 @@ public class Day04 {
     /**
      * How many rolls of paper can be removed in total.
      * 
-     * @param lines The lines read from the input.
+     * @param paperRolls The positions of the rolls of paper.
      * @return The value calculated for part 2.
      */
-    private static int part2(final List<String> lines) {
+    @Override
+    public long part2(final PaperRolls paperRolls) {
 
-        var rolls = Coordinate.findCoordinates(lines, '@');
+        // Copy the rolls, so they can be removed
+        var rolls = new HashSet<>(paperRolls.rolls());
         int startingRolls = rolls.size();
 
         final List<Coordinate> rollsToRemove = new ArrayList<>();
@@ -115,10 +93,11 @@ public class Day04 {
 
             rolls.removeAll(rollsToRemove);
 
-            log.atDebug().setMessage("Remove {} rolls of paper:\n{}\n")
-               .addArgument(rollsToRemove.size())
-               .addArgument(() -> Coordinate.printMap(lines.size(), lines.size(), rolls, '@', Set.copyOf(rollsToRemove), 'x'))
-               .log();
+            if (Trace.debug(log))
+                log.atDebug().setMessage("Remove {} rolls of paper:\n{}\n")
+                   .addArgument(rollsToRemove.size())
+                   .addArgument(() -> Coordinate.printMap(paperRolls.size(), paperRolls.size(), rolls, '@', Set.copyOf(rollsToRemove), 'x'))
+                   .log();
 
         } while (!rollsToRemove.isEmpty());
 
@@ -126,4 +105,15 @@ public class Day04 {
 
     }
 
+
+
+    /**
+     * The rolls of paper in a square grid.
+     * 
+     * @param rolls The positions of the rolls of paper.
+     * @param size The number of rows and columns in the grid.
+     */
+    record PaperRolls(Set<Coordinate> rolls, int size) {
+    }
+
 }
\ No newline at end of file
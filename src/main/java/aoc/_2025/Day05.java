@@ -1,20 +1,25 @@
 package aoc._2025;
 
-import java.util.ArrayDeque;
-import java.util.HashSet;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Queue;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.apache.commons.collections4.IterableUtils;
-import org.apache.commons.lang3.Range;
-import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
-import aoc.RangeUtils;
-import ch.qos.logback.classic.Level;
+import aoc.LongBitmap;
+import aoc.LongRangeSet;
+import aoc.LongRangeView;
+import aoc.MappedLongRangeSet;
+import aoc.MutableLongRangeSet;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -24,60 +29,101 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day05 {
+public class Day05 implements Puzzle<Day05.Inventory> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day05.class);
 
-    private static final String INPUT_TXT = "input/Day05.txt";
 
-    private static final String TEST_INPUT_TXT = "testInput/Day05.txt";
+    /** How many ingredient IDs the streaming mode checks between reports. */
+    private static final int REPORT_INTERVAL = 1_000_000;
 
+    /**
+     * The directory the consolidated freshness ranges of each input are
+     * indexed in, or {@code null} to index none.
+     */
+    private static final Path RANGE_INDEX_DIRECTORY = directory(System.getProperty("aoc.rangeIndex", ""));
 
 
-    public static void main(String[] args) {
-
-        var resultMessage = "{} of the available ingredient IDs are fresh.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
 
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
+    public static void main(String[] args) {
 
-        var expectedTestResult = 3;
-        var testResult = part1(testLines);
+        if (args.length > 0 && args[0].equals("--stream")) {
+            stream(args);
+            return;
+        }
 
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
+        PuzzleRunner.of(new Day05(), log)
+                    .part1("{} of the available ingredient IDs are fresh.", 3)
+                    .part2("{} ingredient IDs are considered to be fresh according to the fresh ingredient ID ranges.", 14)
+                    .run();
+    }
 
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
+    /**
+     * Parse the freshness ranges, which come first, and the ingredient IDs,
+     * which follow them after a blank line. The consolidated ranges are
+     * mapped from their index, if the same ranges have been consolidated
+     * before.
+     * 
+     * @param lines The lines read from the input.
+     * @return The consolidated freshness ranges and the ingredient IDs.
+     */
+    @Override
+    public Inventory parse(final List<String> lines) {
 
-        log.info(resultMessage, part1(lines));
+        // Either section may be missing, in which case it is empty
+        Iterator<List<String>> sections = FileUtils.sections(lines).iterator();
+        LongRangeView freshnessRanges = freshnessRanges(sections.hasNext() ? sections.next() : List.of());
 
-        // PART 2
-        resultMessage = "{} ingredient IDs are considered to be fresh according to the fresh ingredient ID ranges.";
+        log.debug("Consolidated ranges:\n{}", freshnessRanges);
 
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
+        long[] ingredientIds = sections.hasNext() ? sections.next()
+                                                        .stream()
+                                                        .mapToLong(Long::parseLong)
+                                                        .toArray()
+                                                  : new long[0];
 
-        expectedTestResult = 14;
-        testResult = part2(testLines);
+        return new Inventory(freshnessRanges, ingredientIds);
+    }
 
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
 
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
+    /**
+     * Consolidate the freshness ranges, and, if indexing is turned on, write
+     * them to an index named for a hash of the ranges, so the next time the
+     * same ranges are parsed the index is only mapped (see
+     * {@link MappedLongRangeSet}), rather than the ranges being sorted and
+     * merged again. Indexing is turned on by giving the directory to keep the
+     * indexes in with the {@code aoc.rangeIndex} system property, e.g.
+     * {@code -Daoc.rangeIndex=build/range-index}. Otherwise, nothing is hashed
+     * or written, and the ranges are always consolidated.
+     * 
+     * @param lines The lines of the freshness ranges.
+     * @return The consolidated freshness ranges.
+     */
+    private static LongRangeView freshnessRanges(List<String> lines) {
+        if (RANGE_INDEX_DIRECTORY == null)
+            return LongRangeSet.parse(lines);
+
+        Path index = RANGE_INDEX_DIRECTORY.resolve("Day05-" + FileUtils.sha256(lines).substring(0, 16) + ".lrs");
+        if (Files.exists(index)) {
+            try {
+                return MappedLongRangeSet.open(index);
+            } catch (IOException e) {
+                log.warn("Ignoring the unreadable range index {}", index, e);
+            }
+        }
 
-        log.info(resultMessage, part2(lines));
+        LongRangeSet freshnessRanges = LongRangeSet.parse(lines);
+        try {
+            Files.createDirectories(RANGE_INDEX_DIRECTORY);
+            MappedLongRangeSet.write(freshnessRanges, index);
+        } catch (IOException e) {
+            // Without the index, the ranges are only consolidated again next time
+            log.warn("Could not write the range index {}", index, e);
+        }
+        return freshnessRanges;
     }
 
 
@@ -86,28 +132,17 @@ public class Day05 {
      * Given freshness ranges and ingredient IDs, how many ingredients are
      * fresh?
      * 
-     * @param lines The lines read from the input.
+     * @param inventory The freshness ranges and ingredient IDs.
      * @return The number of fresh ingredients.
      */
-    private static long part1(final List<String> lines) {
-
-        Set<Range<Long>> freshnessRanges = new HashSet<>();
-        Set<Long> ingredientIds = new HashSet<>();
-
-        // Parse the ingredient IDs and ranges
-        lines.stream()
-             .filter(StringUtils::isNotBlank)
-             .forEach(l -> {
-                 if (l.contains("-"))
-                     freshnessRanges.add(Range.of(Long.valueOf(l.split("-")[0]), Long.valueOf(l.split("-")[1])));
-                 else
-                     ingredientIds.add(Long.valueOf(l));
-             });
+    @Override
+    public long part1(final Inventory inventory) {
 
         // Check each ingredient ID
-        return ingredientIds.stream()
-                            .filter(id -> IterableUtils.matchesAny(freshnessRanges, r -> r.contains(id)))
-                            .count();
+        return Arrays.stream(inventory.ingredientIds())
+                     .distinct()
+                     .filter(inventory.freshnessRanges()::contains)
+                     .count();
     }
 
 
@@ -116,45 +151,119 @@ public class Day05 {
      * Given freshness ranges only, how many ingredient ID would be considered
      * fresh?
      * 
-     * @param lines The lines read from the input.
+     * @param inventory The freshness ranges and ingredient IDs.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
-        // Parse the freshness ranges
-        Queue<Range<Long>> freshnessRanges = lines.stream()
-                                                  .filter(l -> l.contains("-"))
-                                                  .map(l -> Range.of(Long.valueOf(l.split("-")[0]), Long.valueOf(l.split("-")[1])))
-                                                  .collect(Collectors.toCollection(ArrayDeque::new));
-
-        log.debug("Freshness ranges:\n{}", freshnessRanges);
-
-        // Consolidate the ranges
-        Set<Range<Long>> consolidatedRanges = new HashSet<>();
-
-        while (!freshnessRanges.isEmpty()) {
-            Range<Long> range = freshnessRanges.poll();
-            // Find overlapping ranges
-            var overlappingRanges = freshnessRanges.stream()
-                                                   .filter(range::isOverlappedBy)
-                                                   .toList();
-
-            // If it doesn't overlap anything, then it it consolidated.
-            if (overlappingRanges.isEmpty()) {
-                consolidatedRanges.add(range);
-            } else {
-                // Otherwise, create the new ranges, and put them back in the queue.
-                freshnessRanges.removeAll(overlappingRanges);
-                overlappingRanges.stream()
-                                 .map(r -> RangeUtils.union(range, r))
-                                 .forEach(freshnessRanges::add);
+    @Override
+    public long part2(final Inventory inventory) {
+        return inventory.freshnessRanges().size();
+    }
+
+
+
+    /**
+     * Check ingredient IDs as they are read, rather than reading all of them
+     * first. The arguments are {@code --stream [--distinct] [fileName]}, where
+     * the file is read from the classpath, or standard input is read if no
+     * file is given.
+     * 
+     * @param args The command line arguments.
+     */
+    private static void stream(String[] args) {
+        boolean distinct = List.of(args).contains("--distinct");
+        String fileName = Stream.of(args)
+                                .skip(1)
+                                .filter(a -> !a.startsWith("--"))
+                                .findFirst()
+                                .orElse(null);
+
+        try (Stream<String> lines = fileName == null ? new BufferedReader(new InputStreamReader(System.in)).lines()
+                                                     : FileUtils.readFileToStream(fileName)) {
+            var count = countFresh(lines, distinct);
+            log.info("{} of the {} ingredient IDs checked were fresh.", count.fresh(), count.checked());
+            if (distinct)
+                log.info("{} distinct ingredient IDs were fresh.", count.distinctFresh());
+        }
+    }
+
+
+
+    /**
+     * Count the fresh ingredient IDs in a stream of lines, in constant memory.
+     * Ranges may appear anywhere in the stream, and each ingredient ID is
+     * checked against the ranges which came before it. The ranges are
+     * consolidated as they arrive, and each ID is looked up in them directly,
+     * so ranges and IDs can be interleaved at no extra cost.
+     * 
+     * @param lines The lines of ranges and ingredient IDs.
+     * @param distinct Whether to also count the distinct fresh IDs, which are
+     *            tracked in a {@link LongBitmap}.
+     * @return The counts of checked and fresh ingredient IDs.
+     */
+    static FreshnessCount countFresh(Stream<String> lines, boolean distinct) {
+
+        MutableLongRangeSet ranges = new MutableLongRangeSet();
+        LongBitmap freshIds = distinct ? new LongBitmap() : null;
+        long checked = 0;
+        long fresh = 0;
+
+        Iterator<String> iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            String line = iterator.next().strip();
+            if (line.isEmpty())
+                continue;
+
+            int dash = line.indexOf('-');
+            if (dash > 0) {
+                ranges.add(Long.parseLong(line, 0, dash, 10), Long.parseLong(line, dash + 1, line.length(), 10));
+                continue;
+            }
+
+            long id = Long.parseLong(line);
+            checked++;
+            if (ranges.contains(id)) {
+                fresh++;
+                if (freshIds != null)
+                    freshIds.add(id);
             }
+
+            if (checked % REPORT_INTERVAL == 0)
+                log.info("{} ingredient IDs checked, {} fresh so far.", checked, fresh);
         }
 
-        log.debug("Consolidated ranges:\n{}", consolidatedRanges);
+        return new FreshnessCount(checked, fresh, freshIds == null ? -1 : freshIds.size());
+    }
+
+
 
-        return (long) consolidatedRanges.stream()
-                                        .mapToDouble(RangeUtils::size)
-                                        .sum();
+    private static Path directory(String property) {
+        return property.isBlank() || property.equals("false") ? null : Path.of(property);
+    }
+
+
+
+    /**
+     * The parsed inventory database.
+     * 
+     * @param freshnessRanges The consolidated ranges of fresh ingredient IDs,
+     *            on the heap or mapped from their index.
+     * @param ingredientIds The available ingredient IDs.
+     */
+    record Inventory(LongRangeView freshnessRanges, long[] ingredientIds) {
+    }
+
+
+
+    /**
+     * The results of checking a stream of ingredient IDs.
+     * 
+     * @param checked The number of ingredient IDs checked.
+     * @param fresh The number of those which were fresh, counting repeated IDs
+     *            each time.
+     * @param distinctFresh The number of distinct fresh IDs, or -1 if they
+     *            were not tracked.
+     */
+    record FreshnessCount(long checked, long fresh, long distinctFresh) {
     }
 
 }
\ No newline at end of file
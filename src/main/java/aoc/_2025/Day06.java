@@ -11,8 +11,9 @@ import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -22,60 +23,41 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day06 {
+public class Day06 implements Puzzle<Day06.Worksheet> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day06.class);
 
-    private static final String INPUT_TXT = "input/Day06.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day06.txt";
-
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day06(), log)
+                    .part1("The grand total found by adding together all of the answers to the individual problems is {}.", 4_277_556L)
+                    .part2("The correct answers to the cephalopods' questions is {}", 3_263_827L)
+                    .run();
+    }
 
-        var resultMessage = "The grand total found by adding together all of the answers to the individual problems is {}.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 4_277_556L;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "The correct answers to the cephalopods' questions is {}";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 3_263_827L;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
 
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
+    /**
+     * Separate the lines of numbers from the operations on the last line.
+     * 
+     * @param lines The lines read from the input.
+     * @return The lines of numbers, and the operations for each problem.
+     */
+    @Override
+    public Worksheet parse(final List<String> lines) {
 
-        log.info(resultMessage, part2(lines));
+        // Store the operations to be performed
+        List<BinaryOperator<Long>> operations = Stream.of(lines.getLast().split(" +"))
+                                                      .filter(StringUtils::isNotBlank)
+                                                      .map(o -> switch (o) {
+                                                          case "*" -> (BinaryOperator<Long>) Math::multiplyExact;
+                                                          case "+" -> (BinaryOperator<Long>) Math::addExact;
+                                                          default -> throw new IllegalArgumentException("Unexpected value: " + o);
+                                                      })
+                                                      .toList();
+
+        return new Worksheet(lines.subList(0, lines.size() - 1), operations);
     }
 
 
@@ -83,10 +65,14 @@ public class Day06 {
     /**
      * Given the cephalopods' math problems, find the sum of all of the answers.
      * 
-     * @param lines The lines read from the input.
+     * @param worksheet The lines of numbers and the operations.
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final Worksheet worksheet) {
+
+        var lines = worksheet.numberLines();
+        var operations = worksheet.operations();
 
         // Store the columns of numbers
         List<List<Long>> numberColumns = new ArrayList<>();
@@ -94,32 +80,14 @@ public class Day06 {
         IntStream.range(0, lines.getFirst().split(" +").length)
                  .forEach(i -> numberColumns.add(new ArrayList<>()));
 
-        // Store the operations
-        final List<BinaryOperator<Long>> operations = new ArrayList<>();
-
-        // Parse the input
+        // Parse the numbers into the right columns
         lines.forEach(l -> {
-            var lineParts = Stream.of(l.split(" +"))
-                                  .filter(StringUtils::isNotBlank)
-                                  .toList();
-
-            if (l.contains("*")) {
-                // Store the operations to be performed
-                lineParts.stream()
-                         .map(o -> switch (o) {
-                             case "*" -> (BinaryOperator<Long>) Math::multiplyExact;
-                             case "+" -> (BinaryOperator<Long>) Math::addExact;
-                             default -> throw new IllegalArgumentException("Unexpected value: " + o);
-                         })
-                         .forEach(operations::add);
-            } else {
-                // Parse the numbers into the right columns
-                var lineNumbers = lineParts.stream()
-                                           .map(Long::valueOf)
-                                           .toList();
-                IntStream.range(0, lineParts.size())
-                         .forEach(i -> numberColumns.get(i).add(lineNumbers.get(i)));
-            }
+            var lineNumbers = Stream.of(l.split(" +"))
+                                    .filter(StringUtils::isNotBlank)
+                                    .map(Long::valueOf)
+                                    .toList();
+            IntStream.range(0, lineNumbers.size())
+                     .forEach(i -> numberColumns.get(i).add(lineNumbers.get(i)));
         });
 
         // Combine the values in each column, and sum them
@@ -136,29 +104,17 @@ public class Day06 {
      * Reading the numbers from top to bottom, right to left, find the sum of
      * all of the answers.
      * 
-     * @param lines The lines read from the input.
+     * @param worksheet The lines of numbers and the operations.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
-
-        // Get the last line (which has the operations)
-        var lineParts = Stream.of(lines.getLast().split(" +"))
-                              .filter(StringUtils::isNotBlank)
-                              .toList();
+    @Override
+    public long part2(final Worksheet worksheet) {
 
-        // Store the operations to be performed
-        List<BinaryOperator<Long>> operations = lineParts.stream()
-                                                         .map(o -> switch (o) {
-                                                             case "*" -> (BinaryOperator<Long>) Math::multiplyExact;
-                                                             case "+" -> (BinaryOperator<Long>) Math::addExact;
-                                                             default -> throw new IllegalArgumentException("Unexpected value: " + o);
-                                                         })
-                                                         .toList()
-                                                         // Reversed because they are to be processed from right to left
-                                                         .reversed();
+        // Reversed because they are to be processed from right to left
+        var operations = worksheet.operations().reversed();
 
         // Transpose the rows and columns
-        var transposedLines = transpose(lines.subList(0, lines.size() - 1));
+        var transposedLines = transpose(worksheet.numberLines());
 
         log.atDebug()
            .setMessage(transposedLines::toString)
@@ -190,7 +146,10 @@ public class Day06 {
                                                     .stream()
                                                     .collect(Collectors.reducing(operations.get(i)))
                                                     .orElse(0L))
-                        .peek(s -> log.debug(s + ""))
+                        .peek(s -> {
+                            if (Trace.debug(log))
+                                log.debug("{}", s);
+                        })
                         .sum();
 
     }
@@ -221,4 +180,15 @@ public class Day06 {
                               .toList();
     }
 
+
+
+    /**
+     * The cephalopods' math worksheet.
+     * 
+     * @param numberLines The lines of numbers, as they appear in the input.
+     * @param operations The operation for each problem, from left to right.
+     */
+    record Worksheet(List<String> numberLines, List<BinaryOperator<Long>> operations) {
+    }
+
 }
\ No newline at end of file
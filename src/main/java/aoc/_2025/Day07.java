@@ -18,8 +18,9 @@ import java.util.stream.IntStream;
 import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -29,60 +30,33 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day07 {
+public class Day07 implements Puzzle<Day07.Manifold> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day07.class);
 
-    private static final String INPUT_TXT = "input/Day07.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day07.txt";
-
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day07(), log)
+                    .part1("The tachyon beam will be split {} times.", 21)
+                    .part2("The beam ends up on {} different timelines.", 40)
+                    .run();
+    }
 
-        var resultMessage = "The tachyon beam will be split {} times.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 21;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "The beam ends up on {} different timelines.";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 40;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        log.info(resultMessage, part2(lines));
+    /**
+     * Find the start of the beam and the splitters in the tachyon manifold.
+     * 
+     * @param lines The lines read from the input.
+     * @return The layout of the manifold.
+     */
+    @Override
+    public Manifold parse(final List<String> lines) {
+        return new Manifold(Coordinate.findCoordinates(lines, 'S').iterator().next(),
+                            Set.copyOf(Coordinate.findCoordinates(lines, '^')),
+                            lines.size(),
+                            lines.getFirst().length());
     }
 
 
@@ -91,15 +65,16 @@ public class Day07 {
      * Given the beam splitter arrangement in the input lines, how many
      * resulting beams are there.
      * 
-     * @param lines The lines read from the input.
+     * @param manifold The layout of the manifold.
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final Manifold manifold) {
 
-        var start = Coordinate.findCoordinates(lines, 'S');
-        var splitters = Coordinate.findCoordinates(lines, '^');
-        var rows = lines.size();
-        var columns = lines.getFirst().length();
+        var start = Set.of(manifold.start());
+        var splitters = manifold.splitters();
+        var rows = manifold.rows();
+        var columns = manifold.columns();
 
         log.atDebug()
            .setMessage("\n{}")
@@ -139,10 +114,11 @@ public class Day07 {
                 }
             }
 
-            log.atTrace()
-               .setMessage("\n{}")
-               .addArgument(() -> Coordinate.printMap(rows, columns, allBeams, '|', splitters, '^'))
-               .log();
+            if (Trace.trace(log))
+                log.atTrace()
+                   .setMessage("\n{}")
+                   .addArgument(() -> Coordinate.printMap(rows, columns, allBeams, '|', splitters, '^'))
+                   .log();
         }
 
         log.atDebug()
@@ -158,15 +134,16 @@ public class Day07 {
     /**
      * ... same as part one, but count the number of split beams.
      * 
-     * @param lines The lines read from the input.
+     * @param manifold The layout of the manifold.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
+    @Override
+    public long part2(final Manifold manifold) {
 
-        var start = Coordinate.findCoordinates(lines, 'S').iterator().next();
-        var splitters = Coordinate.findCoordinates(lines, '^');
-        var rows = lines.size();
-        var columns = lines.getFirst().length();
+        var start = manifold.start();
+        var splitters = manifold.splitters();
+        var rows = manifold.rows();
+        var columns = manifold.columns();
 
         log.atDebug()
            .setMessage("\n{}")
@@ -219,12 +196,14 @@ public class Day07 {
                 }
             }
 
-            log.trace("{} timelines", timelines);
+            if (Trace.trace(log)) {
+                log.trace("{} timelines", timelines);
 
-            log.atTrace()
-               .setMessage("\n{}")
-               .addArgument(() -> Coordinate.printMap(rows, columns, nextBeams, '|', splitters, '^'))
-               .log();
+                log.atTrace()
+                   .setMessage("\n{}")
+                   .addArgument(() -> Coordinate.printMap(rows, columns, nextBeams, '|', splitters, '^'))
+                   .log();
+            }
         }
 
         log.atDebug()
@@ -253,4 +232,17 @@ public class Day07 {
                                .sum();
     }
 
+
+
+    /**
+     * The layout of the tachyon manifold.
+     * 
+     * @param start Where the beam enters the manifold.
+     * @param splitters The positions of the beam splitters.
+     * @param rows The number of rows in the manifold.
+     * @param columns The number of columns in the manifold.
+     */
+    record Manifold(Coordinate start, Set<Coordinate> splitters, int rows, int columns) {
+    }
+
 }
\ No newline at end of file
@@ -1,22 +1,18 @@
 package aoc._2025;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
-import java.util.stream.Collectors;
 
-import org.apache.commons.collections4.iterators.CartesianProductIterator;
-import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate3D;
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
+import aoc.TraceBuffer;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -26,59 +22,95 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day08 {
+public class Day08 implements Puzzle<Day08.Playground> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day08.class);
 
-    private static final String INPUT_TXT = "input/Day08.txt";
+    /**
+     * The most junction boxes which can be connected. A connection is held for
+     * every pair of them, which at this many is over 5 * 10^8 connections
+     * (around 20 GiB), and the count of pairs would soon overflow an int.
+     */
+    public static final int MAX_JUNCTION_BOXES = 1 << 15;
 
-    private static final String TEST_INPUT_TXT = "testInput/Day08.txt";
+    /** The number of connections to make in part 1. */
+    private final int connections;
 
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day08(), log)
+                    .testPuzzle(new Day08(10))
+                    .part1("If you multiply together the sizes of the three largest circuits, you get {}", 40)
+                    .part2("The product of the x coordinates of the last two junction boxes to be connected is {}", 25_272)
+                    .run();
+    }
 
-        var resultMessage = "If you multiply together the sizes of the three largest circuits, you get {}";
 
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
 
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
+    /**
+     * Create a {@link Day08} puzzle, which makes 1000 connections in part 1.
+     */
+    public Day08() {
+        this(1000);
+    }
 
-        var expectedTestResult = 40;
-        var testResult = part1(testLines, 10);
 
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
 
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
+    /**
+     * @param connections The number of connections to make in part 1.
+     */
+    public Day08(int connections) {
+        this.connections = connections;
+    }
 
-        log.setLevel(Level.INFO);
 
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-        log.info(resultMessage, part1(lines, 1000));
 
-        // PART 2
-        resultMessage = "The product of the x coordinates of the last two junction boxes to be connected is {}";
+    /**
+     * Parse the positions of the junction boxes, and determine the distance
+     * between every pair of them.
+     * 
+     * @param lines The lines read from the input.
+     * @return The positions of the junction boxes, and the pairs of junction
+     *         boxes in order from closest to farthest.
+     * @throws IllegalArgumentException If there are more than
+     *             {@value #MAX_JUNCTION_BOXES} junction boxes, or any two
+     *             pairs of them are the same distance apart.
+     */
+    @Override
+    public Playground parse(final List<String> lines) {
 
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
+        if (lines.size() > MAX_JUNCTION_BOXES)
+            throw new IllegalArgumentException("There are %d junction boxes, but there can be at most %d.".formatted(lines.size(), MAX_JUNCTION_BOXES));
 
-        expectedTestResult = 25_272;
-        testResult = part2(testLines);
+        // Parse the coordinates
+        var positions = lines.stream()
+                             .map(l -> l.split(","))
+                             .map(c -> new Coordinate3D(Integer.valueOf(c[0]), Integer.valueOf(c[1]), Integer.valueOf(c[2])))
+                             .toList();
 
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
+        // Determine the distance between every pair
+        List<Connection> connections = new ArrayList<>(Math.toIntExact((long) positions.size() * (positions.size() - 1) / 2));
+        for (int first = 0; first < positions.size(); first++) {
+            for (int second = first + 1; second < positions.size(); second++) {
+                var distance = positions.get(first).distanceTo(positions.get(second));
+                if (distance > 0)
+                    connections.add(new Connection(distance, first, second));
+            }
+        }
 
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
+        connections.sort(Comparator.comparingDouble(Connection::distance));
 
-        log.setLevel(Level.INFO);
+        // The order of the connections is ambiguous if any pairs are equally far apart
+        for (int i = 1; i < connections.size(); i++) {
+            var previous = connections.get(i - 1);
+            if (previous.distance() == connections.get(i).distance())
+                throw new IllegalArgumentException("There was already a pair of coordinates %.5f apart (%s, %s).".formatted(previous.distance(),
+                                                                                                                            positions.get(previous.first()),
+                                                                                                                            positions.get(previous.second())));
+        }
 
-        log.info(resultMessage, part2(lines));
+        return new Playground(positions, connections);
     }
 
 
@@ -88,44 +120,21 @@ public class Day08 {
      * connections. Then find the three biggest groups, and return the product
      * of their sizes.
      * 
-     * @param lines The lines read from the input.
-     * @param connections The number of connections to make.
+     * @param playground The junction boxes, and the pairs of them in order from
+     *            closest to farthest.
      * 
      * @return The value calculated for part 1.
      */
-    private static long part1(final List<String> lines, int connections) {
+    @Override
+    public long part1(final Playground playground) {
 
-        // Parse the coordinates into JunctionBoxes
-        var junctionBoxes = lines.stream()
-                                 .map(l -> l.split(","))
-                                 .map(c -> new Coordinate3D(Integer.valueOf(c[0]), Integer.valueOf(c[1]), Integer.valueOf(c[2])))
-                                 .map(JunctionBox::new)
-                                 .toList();
-
-        // Determine the distance between every pair
-        Map<Double, Pair<JunctionBox, JunctionBox>> distances = new HashMap<>();
-        CartesianProductIterator<JunctionBox> pairs = new CartesianProductIterator<>(junctionBoxes, junctionBoxes);
-        // I realise this is going to do twice as much work as necessary...
-        pairs.forEachRemaining(p -> {
-            var distance = p.getFirst().getPosition().distanceTo(p.getLast().getPosition());
-            if (distance > 0) {
-                var newPair = Pair.of(p.getFirst(), p.getLast());
-                var existingPair = distances.put(distance, newPair);
-                if (existingPair != null && !(newPair.equals(existingPair) || Pair.of(p.getLast(), p.getFirst()).equals(existingPair)))
-                    throw new IllegalArgumentException("There was already a pair of coordinates %.5f apart (%s, %s).".formatted(distance,
-                                                                                                                                existingPair.getLeft()
-                                                                                                                                            .getPosition(),
-                                                                                                                                existingPair.getRight()
-                                                                                                                                            .getPosition()));
-            }
-        });
+        var junctionBoxes = playground.createJunctionBoxes();
 
         // Connect the n-closest
-        distances.entrySet()
-                 .stream()
-                 .sorted(Comparator.comparing(Entry::getKey))
-                 .limit(connections)
-                 .forEach(e -> e.getValue().getLeft().connect(e.getValue().getRight()));
+        playground.connections()
+                  .stream()
+                  .limit(connections)
+                  .forEach(c -> junctionBoxes.get(c.first()).connect(junctionBoxes.get(c.second())));
 
         // Find the 3 biggest resulting circuits
         log.debug("Resulting circuits:");
@@ -133,7 +142,10 @@ public class Day08 {
                             .map(JunctionBox::getCircuit)
                             .distinct()
                             .sorted(Comparator.comparing(Set::size, Comparator.reverseOrder()))
-                            .peek(c -> log.debug("{} {}", c.size(), c.stream().map(JunctionBox::getPosition).toList()))
+                            .peek(c -> {
+                                if (Trace.debug(log))
+                                    log.debug("{} {}", c.size(), c.stream().map(JunctionBox::getPosition).toList());
+                            })
                             .limit(3)
                             .mapToLong(Set::size)
                             .reduce(Math::multiplyExact)
@@ -148,49 +160,23 @@ public class Day08 {
      * form a single circuit. Then find the product of the x coordinates of the
      * last two to be connected.
      * 
-     * @param lines The lines read from the input.
+     * @param playground The junction boxes, and the pairs of them in order from
+     *            closest to farthest.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
+    @Override
+    public long part2(final Playground playground) {
 
-        // Parse the coordinates into JunctionBoxes
-        var junctionBoxes = lines.stream()
-                                 .map(l -> l.split(","))
-                                 .map(c -> new Coordinate3D(Integer.valueOf(c[0]), Integer.valueOf(c[1]), Integer.valueOf(c[2])))
-                                 .map(JunctionBox::new)
-                                 .toList();
-
-        // Determine the distance between every pair
-        Map<Double, Pair<JunctionBox, JunctionBox>> distances = new HashMap<>();
-        CartesianProductIterator<JunctionBox> pairs = new CartesianProductIterator<>(junctionBoxes, junctionBoxes);
-        // I realise this is going to do twice as much work as necessary...
-        pairs.forEachRemaining(p -> {
-            var distance = p.getFirst().getPosition().distanceTo(p.getLast().getPosition());
-            if (distance > 0) {
-                var newPair = Pair.of(p.getFirst(), p.getLast());
-                var existingPair = distances.put(distance, newPair);
-                if (existingPair != null && !(newPair.equals(existingPair) || Pair.of(p.getLast(), p.getFirst()).equals(existingPair)))
-                    throw new IllegalArgumentException("There was already a pair of coordinates %.5f apart (%s, %s).".formatted(distance,
-                                                                                                                                existingPair.getLeft()
-                                                                                                                                            .getPosition(),
-                                                                                                                                existingPair.getRight()
-                                                                                                                                            .getPosition()));
-            }
-        });
-
-        // Connect the n-closest
-        var sortedPairs = distances.entrySet()
-                                   .stream()
-                                   .sorted(Comparator.comparing(Entry::getKey))
-                                   .map(Entry::getValue)
-                                   .collect(Collectors.toCollection(ArrayDeque::new));
+        var junctionBoxes = playground.createJunctionBoxes();
 
         // Connect them until the circuit contains all the junction boxes
-        while (!sortedPairs.isEmpty()) {
-            var pairToConnect = sortedPairs.poll();
-            var left = pairToConnect.getLeft();
-            var right = pairToConnect.getRight();
+        for (var connection : playground.connections()) {
+            var left = junctionBoxes.get(connection.first());
+            var right = junctionBoxes.get(connection.second());
             left.connect(right);
+            if (Trace.ENABLED)
+                TraceBuffer.record("Connected junction boxes {} and {}, making a circuit of {}",
+                                   connection.first(), connection.second(), left.getCircuit().size());
 
             if (left.getCircuit().size() == junctionBoxes.size())
                 return (long) left.getPosition().getRow() * right.getPosition().getRow();
@@ -201,6 +187,39 @@ public class Day08 {
 
 
 
+    /**
+     * The junction boxes in the playground.
+     * 
+     * @param positions The positions of the junction boxes.
+     * @param connections Every pair of junction boxes, in order from closest to
+     *            farthest.
+     */
+    record Playground(List<Coordinate3D> positions, List<Connection> connections) {
+
+        /**
+         * @return A new, unconnected, {@link JunctionBox} at each position.
+         */
+        List<JunctionBox> createJunctionBoxes() {
+            return positions.stream()
+                            .map(JunctionBox::new)
+                            .toList();
+        }
+    }
+
+
+
+    /**
+     * A possible connection between two junction boxes.
+     * 
+     * @param distance The distance between the junction boxes.
+     * @param first The index of the first junction box.
+     * @param second The index of the second junction box.
+     */
+    record Connection(double distance, int first, int second) {
+    }
+
+
+
     /**
      * A representation of a junction box, which has a position in three
      * dimensional space, and a set of junction boxes which form a circuit
@@ -256,10 +275,11 @@ public class Day08 {
         public void connect(JunctionBox otherJunctionBox) {
             otherJunctionBox.circuit.addAll(circuit);
             circuit.forEach(c -> c.circuit = otherJunctionBox.circuit);
-            log.debug("Connecting {} to {} (distance {}). New circuit is {}.",
-                      this.getPosition(), otherJunctionBox.getPosition(),
-                      this.getPosition().distanceTo(otherJunctionBox.getPosition()),
-                      otherJunctionBox.circuit.size());
+            if (Trace.debug(log))
+                log.debug("Connecting {} to {} (distance {}). New circuit is {}.",
+                          this.getPosition(), otherJunctionBox.getPosition(),
+                          this.getPosition().distanceTo(otherJunctionBox.getPosition()),
+                          otherJunctionBox.circuit.size());
         }
     }
 
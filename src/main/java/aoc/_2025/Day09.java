@@ -16,9 +16,16 @@ import org.apache.commons.lang3.Range;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.LoggerFactory;
 
+import aoc.Checkpoint;
 import aoc.Coordinate;
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.ExecutionPolicy;
+import aoc.PhaseEvent;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.SearchContext;
+import aoc.SearchProgress;
+import aoc.Trace;
+import aoc.TraceBuffer;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -28,59 +35,38 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day09 {
+public class Day09 implements Puzzle<List<Coordinate>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day09.class);
 
-    private static final String INPUT_TXT = "input/Day09.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day09.txt";
+    /**
+     * The time to compare the area of one pair of red tiles in part 1, about
+     * 1.6 ms for the 123,000 pairs of the real input.
+     */
+    private static final long NANOS_PER_AREA = 13;
 
 
 
     public static void main(String[] args) {
+        PuzzleRunner.of(new Day09(), log)
+                    .part1("{} is the largest area of any rectangle you can make.", 50)
+                    .part2("{} is the largest area of any rectangle you can make, using only red or green tiles.", 24)
+                    .run();
+    }
 
-        var resultMessage = "{} is the largest area of any rectangle you can make.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 50;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "{} is the largest area of any rectangle you can make, using only red or green tiles.";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 24;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
 
-        log.setLevel(Level.INFO);
 
-        log.info(resultMessage, part2(lines));
+    /**
+     * Parse the coordinates of the red tiles, in order.
+     * 
+     * @param lines The lines read from the input.
+     * @return The coordinates of the red tiles, in the order they are listed.
+     */
+    @Override
+    public List<Coordinate> parse(final List<String> lines) {
+        return lines.stream()
+                    .map(l -> Coordinate.of(Integer.valueOf(l.split(",")[0]), Integer.valueOf(l.split(",")[1])))
+                    .toList();
     }
 
 
@@ -89,12 +75,12 @@ public class Day09 {
      * Given the list of coordinates, what is the largest area of rectangle you
      * can make?
      * 
-     * @param lines The lines read from the input.
+     * @param coordinates The coordinates of the red tiles.
      * @return The area of the largest rectangle.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public long part1(final List<Coordinate> coordinates) {
 
-        var coordinates = Coordinate.parseCoordinates(lines);
         var rows = coordinates.stream()
                               .mapToInt(Coordinate::getRow)
                               .max()
@@ -106,27 +92,37 @@ public class Day09 {
 
         log.atDebug()
            .setMessage("\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, coordinates))
+           .addArgument(() -> Coordinate.printMap(rows, columns, Set.copyOf(coordinates)))
            .log();
 
-        Map<Long, Pair<Coordinate, Coordinate>> areas = new HashMap<>();
-        CartesianProductIterator<Coordinate> pairs = new CartesianProductIterator<>(coordinates, coordinates);
-        pairs.forEachRemaining(p -> areas.put((long) (Math.abs(p.getFirst().getRow() - p.getLast().getRow()) + 1) *
-                                              (Math.abs(p.getFirst().getColumn() - p.getLast().getColumn()) + 1),
-                                              Pair.of(p.getFirst(), p.getLast())));
-
-        log.atDebug()
-           .setMessage("Areas:\n{}")
-           .addArgument(() -> areas.entrySet()
-                                   .stream()
-                                   .sorted(Comparator.comparing(Entry::getKey, Comparator.reverseOrder()))
-                                   .map(e -> "%d (%s and %s)".formatted(e.getKey(),
-                                                                        e.getValue().getLeft(),
-                                                                        e.getValue().getRight()))
-                                   .collect(Collectors.joining("\n")))
-           .log();
+        if (Trace.debug(log)) {
+            Map<Long, Pair<Coordinate, Coordinate>> areas = new HashMap<>();
+            CartesianProductIterator<Coordinate> pairs = new CartesianProductIterator<>(coordinates, coordinates);
+            pairs.forEachRemaining(p -> areas.put(area(p.getFirst(), p.getLast()), Pair.of(p.getFirst(), p.getLast())));
+
+            log.atDebug()
+               .setMessage("Areas:\n{}")
+               .addArgument(() -> areas.entrySet()
+                                       .stream()
+                                       .sorted(Comparator.comparing(Entry::getKey, Comparator.reverseOrder()))
+                                       .map(e -> "%d (%s and %s)".formatted(e.getKey(),
+                                                                            e.getValue().getLeft(),
+                                                                            e.getValue().getRight()))
+                                       .collect(Collectors.joining("\n")))
+               .log();
+        }
 
-        return areas.keySet().stream().mapToLong(Long::longValue).max().getAsLong();
+        // Each row pairs a tile with those after it, so the rows get shorter, and
+        // have half of the tiles on average
+        int totalCoordinates = coordinates.size();
+        return ExecutionPolicy.choose("Day09 part 1", totalCoordinates, totalCoordinates / 2 * NANOS_PER_AREA, false)
+                              .max(totalCoordinates, i -> {
+                                  var first = coordinates.get(i);
+                                  long maxArea = 0;
+                                  for (int j = i; j < totalCoordinates; j++)
+                                      maxArea = Math.max(maxArea, area(first, coordinates.get(j)));
+                                  return maxArea;
+                              });
         // 2147314224 is too low.
     }
 
@@ -136,16 +132,13 @@ public class Day09 {
      * Given the list of coordinates, define an area with, then within that area
      * what is the largest area of rectangle you can make?
      * 
-     * @param lines The lines read from the input.
+     * @param coordinates The coordinates of the red tiles, in order.
      * @return The area of the largest rectangle, made of only red or green
      *         tiles.
      */
-    private static long part2(final List<String> lines) {
+    @Override
+    public long part2(final List<Coordinate> coordinates) {
 
-        // Parse the coordinates
-        var coordinates = lines.stream()
-                               .map(l -> Coordinate.of(Integer.valueOf(l.split(",")[0]), Integer.valueOf(l.split(",")[1])))
-                               .toList();
         var rows = coordinates.stream()
                               .mapToInt(Coordinate::getRow)
                               .max()
@@ -160,6 +153,8 @@ public class Day09 {
            .addArgument(() -> Coordinate.printMap(rows, columns, Set.copyOf(coordinates)))
            .log();
 
+        PhaseEvent edgesPhase = new PhaseEvent(Day09.class, "map the edges");
+
         // Create some kind of map of the edges
         // The key is the row, the range is the columns it covers
         MultiValuedMap<Integer, Range<Integer>> horizontalEdges = new ArrayListValuedHashMap<>();
@@ -187,74 +182,112 @@ public class Day09 {
         if (firstCoordinate.getRow() == lastCoordinate.getRow())
             horizontalEdges.put(firstCoordinate.getRow(), Range.of(firstCoordinate.getColumn(), lastCoordinate.getColumn()));
 
-        long maxArea = 0;
-
-        var totalPairs = (totalCoordinates + 1) * totalCoordinates / 2. - totalCoordinates * 1.5;
-        for (int i = 0; i < totalCoordinates; i++) {
-            var first = coordinates.get(i);
-            for (int j = i + 2; j < totalCoordinates; j++) {
-                var currentPair = i * totalCoordinates + (totalCoordinates - j);
-                if (currentPair % 1000 == 0)
-                    log.info("{} out of {}", currentPair, (int) totalPairs);
-
-                var next = coordinates.get(j);
-
-                // Check if the area is bigger than the current max
-                long area = (long) (Math.abs(first.getRow() - next.getRow()) + 1) *
-                            (Math.abs(first.getColumn() - next.getColumn()) + 1);
-                if (area <= maxArea)
-                    continue;
-
-                var minRow = Math.min(first.getRow(), next.getRow());
-                var maxRow = Math.max(first.getRow(), next.getRow());
-                var minColumn = Math.min(first.getColumn(), next.getColumn());
-                var maxColumn = Math.max(first.getColumn(), next.getColumn());
-
-                // Only bother with areas with no points (corners) inside of it.
-                var rowRange = Range.of(minRow + 1, maxRow - 1);
-                var columnRange = Range.of(minColumn + 1, maxColumn - 1);
-
-                var containsNone = coordinates.stream()
-                                              .noneMatch(c -> rowRange.contains(c.getRow()) && columnRange.contains(c.getColumn()));
-                if (containsNone) {
-                    // Check the other corners
-                    var cornersInside = isPointInside(first.getRow(), next.getColumn(), horizontalEdges, verticalEdges) &&
-                                        isPointInside(next.getRow(), first.getColumn(), horizontalEdges, verticalEdges);
-
-                    if (!cornersInside)
+        edgesPhase.commit();
+        PhaseEvent pairsPhase = new PhaseEvent(Day09.class, "check the pairs");
+        try (SearchContext search = SearchContext.start("Day09 part 2");
+                Checkpoint checkpoint = Checkpoint.open("Day09 part 2", coordinates.toString())) {
+            SearchProgress progress = search.progress();
+
+            // Resume from the start of the last row of pairs being checked
+            long maxArea = checkpoint.get("maxArea", 0);
+            search.partialResult(maxArea);
+
+            for (int i = (int) checkpoint.get("row", 0); i < totalCoordinates; i++) {
+                checkpoint.set("row", i);
+                checkpoint.set("maxArea", maxArea);
+                checkpoint.saveIfDue();
+
+                var first = coordinates.get(i);
+                for (int j = i + 2; j < totalCoordinates; j++) {
+                    search.check();
+                    progress.pairChecked();
+
+                    var next = coordinates.get(j);
+
+                    // Check if the area is bigger than the current max
+                    long area = (long) (Math.abs(first.getRow() - next.getRow()) + 1) *
+                                (Math.abs(first.getColumn() - next.getColumn()) + 1);
+                    if (area <= maxArea) {
+                        progress.pairPruned();
                         continue;
-
-                    // Check every point on the border to see if it's inside
-
-                    // Start at the top-left and go clockwise
-                    int row = minRow;
-                    int column = minColumn;
-                    boolean allInside = isPointInside(row, column, horizontalEdges, verticalEdges);
-                    while (allInside && column < maxColumn) {
-                        column++;
-                        allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
-                    }
-                    while (allInside && row < maxRow) {
-                        row++;
-                        allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
-                    }
-                    while (allInside && column > minColumn) {
-                        column--;
-                        allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
-                    }
-                    while (allInside && row > minRow) {
-                        row--;
-                        allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
                     }
 
-                    if (allInside)
-                        // Save the area
-                        maxArea = area;
+                    var minRow = Math.min(first.getRow(), next.getRow());
+                    var maxRow = Math.max(first.getRow(), next.getRow());
+                    var minColumn = Math.min(first.getColumn(), next.getColumn());
+                    var maxColumn = Math.max(first.getColumn(), next.getColumn());
+
+                    // Only bother with areas with no points (corners) inside of it.
+                    var rowRange = Range.of(minRow + 1, maxRow - 1);
+                    var columnRange = Range.of(minColumn + 1, maxColumn - 1);
+
+                    var containsNone = coordinates.stream()
+                                                  .noneMatch(c -> rowRange.contains(c.getRow()) && columnRange.contains(c.getColumn()));
+                    if (containsNone) {
+                        // Check the other corners
+                        var cornersInside = isPointInside(first.getRow(), next.getColumn(), horizontalEdges, verticalEdges) &&
+                                            isPointInside(next.getRow(), first.getColumn(), horizontalEdges, verticalEdges);
+
+                        if (!cornersInside) {
+                            progress.pairPruned();
+                            continue;
+                        }
+
+                        // Check every point on the border to see if it's inside
+
+                        // Start at the top-left and go clockwise, checking the search as
+                        // a long border can take a while
+                        int row = minRow;
+                        int column = minColumn;
+                        boolean allInside = isPointInside(row, column, horizontalEdges, verticalEdges);
+                        while (allInside && column < maxColumn) {
+                            column++;
+                            search.check();
+                            allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
+                        }
+                        while (allInside && row < maxRow) {
+                            row++;
+                            search.check();
+                            allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
+                        }
+                        while (allInside && column > minColumn) {
+                            column--;
+                            search.check();
+                            allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
+                        }
+                        while (allInside && row > minRow) {
+                            row--;
+                            search.check();
+                            allInside &= isPointInside(row, column, horizontalEdges, verticalEdges);
+                        }
+
+                        if (allInside) {
+                            // Save the area
+                            maxArea = area;
+                            search.partialResult(maxArea);
+                            if (Trace.ENABLED)
+                                TraceBuffer.record("Red tiles {} and {} make a larger rectangle of {}", i, j, area);
+                        }
+                    } else {
+                        progress.pairPruned();
+                    }
                 }
             }
+
+            checkpoint.complete();
+            pairsPhase.commit();
+
+            return maxArea;
         }
+    }
+
+
 
-        return maxArea;
+    /**
+     * @return The area of the rectangle with opposite corners on two tiles.
+     */
+    private static long area(Coordinate first, Coordinate second) {
+        return (long) (Math.abs(first.getRow() - second.getRow()) + 1) * (Math.abs(first.getColumn() - second.getColumn()) + 1);
     }
 
 
@@ -14,8 +14,16 @@ import java.util.stream.Stream;
 
 import org.slf4j.LoggerFactory;
 
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Checkpoint;
+import aoc.ExecutionPolicy;
+import aoc.PhaseEvent;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.SearchContext;
+import aoc.SearchProgress;
+import aoc.SearchStoppedException;
+import aoc.Trace;
+import aoc.TraceBuffer;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -25,74 +33,31 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day10 {
+public class Day10 implements Puzzle<List<Day10.Machine>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day10.class);
 
-    private static final String INPUT_TXT = "input/Day10.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day10.txt";
-
 
 
     public static void main(String[] args) {
-
-        var resultMessage = "{} is the fewest button presses required to correctly configure the indicator lights on all of the machines.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 7;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "{} is the fewest button presses required to correctly configure the joltage level counters on all of the machines.";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
-        expectedTestResult = 33;
-        testResult = part2(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.DEBUG);
-
-        log.info(resultMessage, part2(lines));
+        PuzzleRunner.of(new Day10(), log)
+                    .part1("{} is the fewest button presses required to correctly configure the indicator lights on all of the machines.", 7)
+                    .part2("{} is the fewest button presses required to correctly configure the joltage level counters on all of the machines.",
+                           33)
+                    .run();
     }
 
 
 
     /**
-     * Given the machine configurations on each line, how many button presses
-     * are needed to reach the desired state for all machines?
+     * Parse the machine configurations.
      * 
      * @param lines The lines read from the input.
-     * @return The total number of button presses to get to the desired state
-     *         for all machines.
+     * @return The configured machines.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public List<Machine> parse(final List<String> lines) {
 
-        // Parse the machine configurations
         List<Machine> machines = lines.stream()
                                       .map(Machine::fromLine)
                                       .toList();
@@ -102,10 +67,26 @@ public class Day10 {
            .addArgument(() -> machines.stream().map(Machine::toString).collect(joining("\n")))
            .log();
 
-        // Run the machine, and press buttons until the desired state is reached
-        return machines.stream()
-                       .mapToInt(Day10::runToStart)
-                       .sum();
+        return machines;
+    }
+
+
+
+    /**
+     * Given the machine configurations on each line, how many button presses
+     * are needed to reach the desired state for all machines?
+     * 
+     * @param machines The configured machines.
+     * @return The total number of button presses to get to the desired state
+     *         for all machines.
+     */
+    @Override
+    public long part1(final List<Machine> machines) {
+
+        // Run the machine, and press buttons until the desired state is reached.
+        // A machine takes about half a millisecond, but some take much longer.
+        return ExecutionPolicy.choose("Day10 part 1", machines.size(), 500_000, false)
+                              .sum(machines.size(), i -> runToStart(machines.get(i)));
 
     }
 
@@ -159,13 +140,14 @@ public class Day10 {
                     previousStates.add(state);
                 });
 
-                log.atDebug()
-                   .setMessage("From {}, to {}")
-                   .addArgument(() -> Machine.lightString(state, machine.joltages.size()))
-                   .addArgument(() -> newStates.stream()
-                                               .map(s -> Machine.lightString(s, machine.joltages.size()))
-                                               .collect(joining(",")))
-                   .log();
+                if (Trace.debug(log))
+                    log.atDebug()
+                       .setMessage("From {}, to {}")
+                       .addArgument(() -> Machine.lightString(state, machine.joltages.size()))
+                       .addArgument(() -> newStates.stream()
+                                                   .map(s -> Machine.lightString(s, machine.joltages.size()))
+                                                   .collect(joining(",")))
+                       .log();
 
                 // Avoid previous states
                 newStates.removeAll(previousStates);
@@ -182,25 +164,32 @@ public class Day10 {
      * What is the fewest button presses required to correctly configure the
      * joltage level counters on all of the machines?
      * 
-     * @param lines The lines read from the input.
+     * @param machines The configured machines.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
-
-        // Parse the machine configurations
-        List<Machine> machines = lines.stream()
-                                      .map(Machine::fromLine)
-                                      .toList();
-
-        log.atDebug()
-           .setMessage("\n{}")
-           .addArgument(() -> machines.stream().map(Machine::toString).collect(joining("\n")))
-           .log();
+    @Override
+    public long part2(final List<Machine> machines) {
 
         // Run the machine, and press buttons until the desired state is reached
-        return machines.stream()
-                       .mapToInt(Day10::runToJoltage)
-                       .sum();
+        try (SearchContext search = SearchContext.start("Day10 part 2");
+                Checkpoint checkpoint = Checkpoint.open("Day10 part 2", machines.toString())) {
+            long buttonPresses = 0;
+            for (int i = 0; i < machines.size(); i++) {
+                // Machines solved before the last checkpoint are not solved again
+                String machine = "machine." + (i + 1);
+                if (!checkpoint.has(machine)) {
+                    PhaseEvent phase = new PhaseEvent(Day10.class, "machine " + (i + 1));
+                    checkpoint.set(machine, runToJoltage(machines.get(i), search));
+                    phase.commit();
+                    checkpoint.saveIfDue();
+                }
+                buttonPresses += checkpoint.get(machine, 0);
+                // If the search is stopped, at least this many presses are needed
+                search.partialResult(buttonPresses);
+            }
+            checkpoint.complete();
+            return buttonPresses;
+        }
 
     }
 
@@ -213,13 +202,19 @@ public class Day10 {
      * NOTE This is the brute force approach which fails for more complex
      * machines. The correct solution would involve treating the joltage values
      * as the results of a system of equations based on the button configurations.
+     * <p>
+     * The search is bounded by the machine's total joltage, as well as by the
+     * search's deadline, which isn't set when the day is run on its own.
      * 
      * @param machine The configured {@link Machine} to start.
+     * @param search The search, to check regularly, and to count its progress.
      * 
      * @return The minimum number of button presses needed to get it up to
      *         joltage.
+     * @throws SearchStoppedException If the search is stopped first.
+     * @throws IllegalStateException If the joltages can't be reached.
      */
-    private static int runToJoltage(Machine machine) {
+    private static int runToJoltage(Machine machine, SearchContext search) {
 
         // Press each button a certain number of times
         int buttonPresses = 1;
@@ -253,13 +248,26 @@ public class Day10 {
                                      .collect(joining(",")))
            .log();
 
-        while (!newStates.contains(machine.joltages) && buttonPresses < 100) {
-            log.debug("{} states to check.", newStates.size());
+        // Each press raises at least one counter, so the target is reached within
+        // as many presses as its total joltage, even without a deadline
+        int maxPresses = machine.joltages.stream().mapToInt(Integer::intValue).sum();
+
+        SearchProgress progress = search.progress();
+        while (!newStates.contains(machine.joltages)) {
+            if (newStates.isEmpty() || buttonPresses >= maxPresses)
+                throw new IllegalStateException("The joltages of " + machine + " can't be reached");
+            if (Trace.ENABLED)
+                TraceBuffer.record("{} states to check after {} button presses", newStates.size(), buttonPresses);
+            if (Trace.debug(log))
+                log.debug("{} states to check.", newStates.size());
+            progress.frontier(newStates.size());
             states.addAll(newStates);
             newStates.clear();
             while (!states.isEmpty()) {
                 // Compute the new states by pushing each button
                 List<Integer> state = states.poll();
+                search.check();
+                progress.stateExpanded();
 
                 buttons.forEach(b -> {
                     // Copy the base state
@@ -274,7 +282,8 @@ public class Day10 {
                     previousStates.add(state);
                 });
 
-                log.trace("From {}, to {}", state, newStates);
+                if (Trace.trace(log))
+                    log.trace("From {}, to {}", state, newStates);
 
                 // Avoid previous states
                 newStates.removeAll(previousStates);
@@ -282,13 +291,15 @@ public class Day10 {
             buttonPresses++;
         }
 
+        if (Trace.ENABLED)
+            TraceBuffer.record("{} button presses for a machine", buttonPresses);
         log.debug("{} button presses for machine {}.", buttonPresses, machine);
         return buttonPresses;
     }
 
 
 
-    private static class Machine {
+    static class Machine {
 
         /** The condition the light needs to be in to start. */
         private BitSet startLight;
@@ -17,8 +17,8 @@ import java.util.stream.Stream;
 
 import org.slf4j.LoggerFactory;
 
-import aoc.FileUtils;
-import ch.qos.logback.classic.Level;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 
@@ -28,47 +28,14 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day11 {
+public class Day11 implements Puzzle<Map<String, List<String>>> {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day11.class);
 
-    private static final String INPUT_TXT = "input/Day11.txt";
-
-    private static final String TEST_INPUT_TXT = "testInput/Day11.txt";
-
 
 
     public static void main(String[] args) {
 
-        var resultMessage = "{} different paths lead from you to out.";
-
-        log.info("Part 1:");
-        log.setLevel(Level.DEBUG);
-
-        // Read the test file
-        List<String> testLines = FileUtils.readFile(TEST_INPUT_TXT);
-
-        var expectedTestResult = 5;
-        var testResult = part1(testLines);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        // Read the real file
-        List<String> lines = FileUtils.readFile(INPUT_TXT);
-        log.info(resultMessage, part1(lines));
-
-        // PART 2
-        resultMessage = "{} different paths lead from \"svr\" to \"out\", and pass through \"fft\" and \"dac\".";
-
-        log.info("Part 2:");
-        log.setLevel(Level.DEBUG);
-
         var testLines2 = """
             svr: aaa bbb
             aaa: fft
@@ -86,35 +53,27 @@ public class Day11 {
             """.lines()
                .toList();
 
-        expectedTestResult = 2;
-        testResult = part2(testLines2);
-
-        log.info("Should be {}", expectedTestResult);
-        log.info(resultMessage, testResult);
-
-        if (testResult != expectedTestResult)
-            log.error("The test result doesn't match the expected value.");
-
-        log.setLevel(Level.INFO);
-
-        log.info(resultMessage, part2(lines));
+        PuzzleRunner.of(new Day11(), log)
+                    .part1("{} different paths lead from you to out.", 5)
+                    .part2("{} different paths lead from \"svr\" to \"out\", and pass through \"fft\" and \"dac\".", 2, testLines2)
+                    .run();
     }
 
 
 
     /**
-     * Given the "from" and "to" nodes, find all the paths from "you" to "out".
+     * Parse the nodes, and the nodes which each of them outputs to.
      * 
      * @param lines The lines read from the input.
-     * @return The value calculated for part 1.
+     * @return A map of each node to its outputs.
      */
-    private static long part1(final List<String> lines) {
+    @Override
+    public Map<String, List<String>> parse(final List<String> lines) {
 
-        // Parse nodes
         Map<String, List<String>> nodeMap = new HashMap<>();
         lines.stream()
-             .forEach(l -> nodeMap.computeIfAbsent(l.substring(0, 3), k -> new ArrayList<>())
-                                  .addAll(Stream.of(l.substring(5).split(" ")).toList()));
+             .forEach(l -> nodeMap.computeIfAbsent(l.substring(0, l.indexOf(':')), k -> new ArrayList<>())
+                                  .addAll(Stream.of(l.substring(l.indexOf(':') + 2).split(" ")).toList()));
 
         log.atDebug()
            .setMessage("Nodes:\n{}")
@@ -125,6 +84,19 @@ public class Day11 {
                                      .collect(Collectors.joining("\n")))
            .log();
 
+        return Collections.unmodifiableMap(nodeMap);
+    }
+
+
+
+    /**
+     * Given the "from" and "to" nodes, find all the paths from "you" to "out".
+     * 
+     * @param nodeMap The map of nodes and their outputs.
+     * @return The value calculated for part 1.
+     */
+    @Override
+    public long part1(final Map<String, List<String>> nodeMap) {
         return countPathsBetweenNodes(nodeMap, "you", "out");
     }
 
@@ -196,25 +168,11 @@ public class Day11 {
      * Given the "from" and "to" nodes, find all the paths from "svr" to "out"
      * that pass through both "fft" and "dac".
      * 
-     * @param lines The lines read from the input.
+     * @param nodeMap The map of nodes and their outputs.
      * @return The value calculated for part 2.
      */
-    private static long part2(final List<String> lines) {
-
-        // Parse nodes
-        Map<String, List<String>> nodeMap = new HashMap<>();
-        lines.stream()
-             .forEach(l -> nodeMap.computeIfAbsent(l.substring(0, 3), k -> new ArrayList<>())
-                                  .addAll(Stream.of(l.substring(5).split(" ")).toList()));
-
-        log.atDebug()
-           .setMessage("Nodes:\n{}")
-           .addArgument(() -> nodeMap.entrySet()
-                                     .stream()
-                                     .sorted(Comparator.comparing(Entry::getKey))
-                                     .map(e -> e.getKey() + ": " + e.getValue().stream().collect(Collectors.joining(" ")))
-                                     .collect(Collectors.joining("\n")))
-           .log();
+    @Override
+    public long part2(final Map<String, List<String>> nodeMap) {
 
         // "svr" to "out" is too complex (runs out of memory)
 
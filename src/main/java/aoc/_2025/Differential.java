@@ -0,0 +1,402 @@
+package aoc._2025;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.InputGenerator;
+import aoc.Puzzle;
+import aoc.Puzzles;
+import aoc.SearchContext;
+import aoc.SearchStoppedException;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Differential tests of a candidate solution (e.g. an optimised rewrite)
+ * against a reference solution, on randomised {@link Generators generated}
+ * inputs. The reference solutions are frozen copies of the original ones, in
+ * {@code aoc._2025.reference}.
+ * <p>
+ * Each part of each input is solved by both, and any difference (in the
+ * answer, or in whether it throws an exception) is a mismatch. Inputs which
+ * the reference can't solve, or doesn't solve within the timeout, are
+ * skipped. When a mismatch is found, it is shrunk to a minimal failing input:
+ * first by generating smaller inputs, then by removing lines for as long as
+ * the input is still valid and still fails.
+ * <p>
+ * Usage: {@code Differential <day> [--candidate class] [--trials n] [--size n]
+ * [--seed s] [--timeout seconds] [--output directory]}
+ * <p>
+ * The candidate defaults to the day's own class, e.g. {@code aoc._2025.Day09}.
+ * The minimal failing input is logged, and written to the output directory
+ * ({@code build/differential} by default).
+ *
+ * @author Paul Cormier
+ */
+public final class Differential {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Differential.class);
+
+    private static final int YEAR = 2025;
+
+    /** The most lines of a failing input to log. */
+    private static final int LOGGED_LINES = 50;
+
+    /** How long a search which checks its deadline is given to stop itself. */
+    private static final Duration STOP_GRACE = Duration.ofSeconds(1);
+
+    /** The size of the generated inputs for each day, unless one is given. */
+    private static final Map<Integer, Integer> defaultSizes = Map.of(8, 200, 9, 20, 10, 20, 11, 300);
+
+    /** Which inputs are still valid once lines have been removed, for each day. */
+    private static final Map<Integer, Predicate<List<String>>> validators = Map.of(8, lines -> lines.size() >= 2,
+                                                                                   9, Differential::isRectilinearPolygon,
+                                                                                   10, lines -> !lines.isEmpty(),
+                                                                                   11, Differential::hasEveryDevice);
+
+    private final Puzzle<?> reference;
+
+    private final Puzzle<?> candidate;
+
+    private final InputGenerator generator;
+
+    private final Predicate<List<String>> valid;
+
+    private final Duration timeout;
+
+    /**
+     * The number of parts of the trials skipped because the reference
+     * couldn't solve them, not counting those of the inputs tried while
+     * shrinking a mismatch.
+     */
+    private int skipped;
+
+
+
+    /**
+     * @param reference The solution which is assumed to be right.
+     * @param candidate The solution to check against it.
+     * @param generator Generates the inputs.
+     * @param valid Whether an input, shrunk by removing lines, is still one
+     *            the puzzle could be given.
+     * @param timeout The time after which a part is abandoned.
+     */
+    public Differential(Puzzle<?> reference,
+                        Puzzle<?> candidate,
+                        InputGenerator generator,
+                        Predicate<List<String>> valid,
+                        Duration timeout) {
+        this.reference = reference;
+        this.candidate = candidate;
+        this.generator = generator;
+        this.valid = valid;
+        this.timeout = timeout;
+    }
+
+
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            log.error("Usage: Differential <day> [--candidate class] [--trials n] [--size n] [--seed s] [--timeout seconds] [--output directory]");
+            return;
+        }
+
+        int day = Integer.parseInt(args[0].replaceFirst("(?i)^day", ""));
+        String candidateClass = Puzzles.className(YEAR, day);
+        int trials = 100;
+        int size = defaultSizes.getOrDefault(day, 100);
+        long seed = Generators.DEFAULT_SEED;
+        Duration timeout = Duration.ofSeconds(10);
+        Path output = Path.of("build", "differential");
+
+        for (int i = 1; i < args.length; i++) {
+            switch (args[i]) {
+                case "--candidate" -> candidateClass = args[++i];
+                case "--trials" -> trials = Integer.parseInt(args[++i]);
+                case "--size" -> size = Integer.parseInt(args[++i]);
+                case "--seed" -> seed = Long.parseLong(args[++i]);
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--output" -> output = Path.of(args[++i]);
+                default -> throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+        }
+
+        // The puzzles' own logging would drown out the report, which is in the same package
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("aoc._" + YEAR).setLevel(Level.WARN);
+        log.setLevel(Level.INFO);
+
+        var reference = create("aoc._%d.reference.Day%02d".formatted(YEAR, day));
+        var candidate = create(candidateClass);
+        var generator = Generators.forDay(day).orElseThrow(() -> new IllegalArgumentException("There is no generator for day " + day));
+        var differential = new Differential(reference, candidate, generator, validators.getOrDefault(day, lines -> true), timeout);
+
+        log.info("Checking {} against {} on {} inputs of size {}, from seed {}",
+                 candidateClass, reference.getClass().getName(), trials, size, seed);
+        var mismatch = differential.run(seed, trials, size);
+        if (differential.skipped > 0)
+            log.info("{} parts were skipped, as the reference couldn't solve them", differential.skipped);
+        if (mismatch.isEmpty()) {
+            log.info("No mismatches");
+            return;
+        }
+
+        var minimal = mismatch.get();
+        log.error("{} part {} differs on {} lines (seed {}, size {}): the reference gives {}, the candidate gives {}",
+                  candidate.getClass().getSimpleName(), minimal.part(), minimal.lines().size(), minimal.seed(), minimal.size(),
+                  minimal.expected(), minimal.actual());
+        if (minimal.lines().size() <= LOGGED_LINES)
+            log.error("The minimal failing input:\n{}", String.join("\n", minimal.lines()));
+        minimal.write(output.resolve("Day%02d-part%d.txt".formatted(day, minimal.part())));
+        System.exit(1);
+    }
+
+
+
+    private static Puzzle<?> create(String className) {
+        try {
+            return (Puzzle<?>) Class.forName(className).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Could not create the puzzle " + className, e);
+        }
+    }
+
+
+
+    /**
+     * Check the candidate against the reference on generated inputs, and
+     * shrink the first mismatch found.
+     *
+     * @param seed The seed from which each input's seed is drawn.
+     * @param trials The number of inputs to check.
+     * @param size The size of the inputs.
+     * @return The minimal mismatch, or empty if there were none.
+     */
+    public Optional<Mismatch> run(long seed, int trials, int size) {
+        return findMismatch(seed, trials, size, true, 1, 2).map(this::shrink);
+    }
+
+
+
+    /**
+     * @param countSkipped {@code true} to count the parts which the reference
+     *            couldn't solve in {@link #skipped}.
+     * @param parts The parts to compare.
+     * @return The first mismatch in any of the parts, or empty if there were
+     *         none.
+     */
+    private Optional<Mismatch> findMismatch(long seed, int trials, int size, boolean countSkipped, int... parts) {
+        Random seeds = new Random(seed);
+        for (int trial = 0; trial < trials; trial++) {
+            long inputSeed = seeds.nextLong();
+            List<String> lines = generator.generate(inputSeed, size);
+            for (int part : parts) {
+                var mismatch = compare(lines, part, inputSeed, size, countSkipped);
+                if (mismatch.isPresent())
+                    return mismatch;
+            }
+        }
+        return Optional.empty();
+    }
+
+
+
+    /**
+     * @param countSkipped {@code true} to count the part in {@link #skipped}
+     *            if the reference couldn't solve it.
+     * @return The mismatch, or empty if the answers match, or the reference
+     *         couldn't solve the input.
+     */
+    private Optional<Mismatch> compare(List<String> lines, int part, long seed, int size, boolean countSkipped) {
+        Outcome expected = solve(reference, lines, part);
+        if (expected.error() != null) {
+            if (countSkipped)
+                skipped++;
+            return Optional.empty();
+        }
+
+        Outcome actual = solve(candidate, lines, part);
+        return expected.equals(actual) ? Optional.empty() : Optional.of(new Mismatch(part, seed, size, lines, expected, actual));
+    }
+
+
+
+    /**
+     * Shrink a mismatch, first by generating smaller inputs which still fail,
+     * then by removing as many lines as possible.
+     */
+    private Mismatch shrink(Mismatch mismatch) {
+        log.info("Found a mismatch in part {} on {} lines, shrinking it", mismatch.part(), mismatch.lines().size());
+
+        // Halve the size for as long as some input of that size still fails in the same part
+        Mismatch smallest = mismatch;
+        for (int size = mismatch.size() / 2; size >= 1; size /= 2) {
+            var smaller = findMismatch(mismatch.seed() ^ size, 20, size, false, mismatch.part());
+            if (smaller.isEmpty())
+                break;
+            smallest = smaller.get();
+        }
+
+        // Then remove chunks of lines, halving the chunks whenever none can be removed
+        List<String> lines = smallest.lines();
+        Mismatch minimal = smallest;
+        for (int chunk = lines.size() / 2; chunk >= 1; chunk /= 2) {
+            boolean removed;
+            do {
+                removed = false;
+                for (int start = 0; start + chunk <= lines.size(); start += chunk) {
+                    List<String> shrunk = new ArrayList<>(lines.subList(0, start));
+                    shrunk.addAll(lines.subList(start + chunk, lines.size()));
+                    if (!valid.test(shrunk))
+                        continue;
+
+                    var stillFails = compare(shrunk, minimal.part(), minimal.seed(), minimal.size(), false);
+                    if (stillFails.isPresent()) {
+                        lines = shrunk;
+                        minimal = stillFails.get();
+                        removed = true;
+                        break;
+                    }
+                }
+            } while (removed && lines.size() > chunk);
+        }
+        return minimal;
+    }
+
+
+
+    /**
+     * Parse the input and solve a part, on a daemon thread, with a
+     * {@link SearchContext} whose deadline is the timeout, so a search stops
+     * itself in time, and anything else can be abandoned if it takes too long.
+     */
+    private Outcome solve(Puzzle<?> puzzle, List<String> lines, int part) {
+        String name = puzzle.getClass().getSimpleName() + " part " + part;
+        try (SearchContext context = SearchContext.withDeadline(name, timeout)) {
+            FutureTask<Long> future = new FutureTask<>(() -> context.call(() -> solvePart(puzzle, lines, part)));
+            Thread.ofPlatform().daemon().name(name).start(future);
+            try {
+                // Give a search which checks its deadline a moment to stop itself
+                return new Outcome(future.get(timeout.plus(STOP_GRACE).toNanos(), TimeUnit.NANOSECONDS), null);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                context.cancel();
+                return new Outcome(null, "timed out");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SearchStoppedException)
+                    return new Outcome(null, "timed out");
+                return new Outcome(null, e.getCause().getClass().getName());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                context.cancel();
+                return new Outcome(null, "interrupted");
+            }
+        }
+    }
+
+
+
+    private static <I> long solvePart(Puzzle<I> puzzle, List<String> lines, int part) {
+        I input = puzzle.parse(lines);
+        return part == 1 ? puzzle.part1(input) : puzzle.part2(input);
+    }
+
+
+
+    /**
+     * @param lines The lines of a Day 9 input.
+     * @return {@code true} if each red tile is in the same row or column as
+     *         the next (but not both), and the first and last are in the same
+     *         row.
+     */
+    static boolean isRectilinearPolygon(List<String> lines) {
+        if (lines.size() < 4)
+            return false;
+
+        int[][] tiles = lines.stream()
+                             .map(l -> l.split(","))
+                             .map(p -> new int[] { Integer.parseInt(p[0]), Integer.parseInt(p[1]) })
+                             .toArray(int[][]::new);
+        return tiles[0][0] == tiles[tiles.length - 1][0] &&
+               IntStream.range(1, tiles.length)
+                        .allMatch(i -> (tiles[i - 1][0] == tiles[i][0]) != (tiles[i - 1][1] == tiles[i][1]));
+    }
+
+
+
+    /**
+     * @param lines The lines of a Day 11 input.
+     * @return {@code true} if "you", "svr", "fft" and "dac" all have outputs.
+     */
+    static boolean hasEveryDevice(List<String> lines) {
+        return List.of("you:", "svr:", "fft:", "dac:")
+                   .stream()
+                   .allMatch(d -> lines.stream().anyMatch(l -> l.startsWith(d)));
+    }
+
+
+
+    /**
+     * How a part ended: with an answer, or an error.
+     *
+     * @param answer The answer, if there was one.
+     * @param error The exception thrown, or why there was no answer.
+     */
+    public record Outcome(Long answer, String error) {
+
+        @Override
+        public String toString() {
+            return Objects.requireNonNullElse(error, String.valueOf(answer));
+        }
+    }
+
+
+
+    /**
+     * An input on which the candidate's answer differs from the reference's.
+     *
+     * @param part The part which differs.
+     * @param seed The seed of the generated input.
+     * @param size The size of the generated input.
+     * @param lines The input, which may have been shrunk since it was
+     *            generated.
+     * @param expected The reference's answer.
+     * @param actual The candidate's answer.
+     */
+    public record Mismatch(int part, long seed, int size, List<String> lines, Outcome expected, Outcome actual) {
+
+        /**
+         * Write the input to a file, so it can be replayed.
+         *
+         * @param file The file to write.
+         */
+        public void write(Path file) {
+            try {
+                Files.createDirectories(file.getParent());
+                Files.write(file, lines);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write " + file, e);
+            }
+            log.error("Wrote the minimal failing input to {}", file);
+        }
+    }
+
+}
@@ -0,0 +1,717 @@
+package aoc._2025;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.InputGenerator;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Seeded {@link InputGenerator generators} of synthetic input for each day,
+ * in the same format as the real input but at any scale.
+ * <p>
+ * Run it to write an input to a file (or to the console, if no file is
+ * given):
+ *
+ * <pre>
+ * Generators &lt;day&gt; &lt;size&gt; [seed] [file]
+ * </pre>
+ *
+ * @author Paul Cormier
+ */
+public final class Generators {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Generators.class);
+
+    /** The seed used when none is given. */
+    public static final long DEFAULT_SEED = 2025;
+
+    /** The largest distance a dial is turned on Day 1, which part 2 relies on. */
+    private static final int MAX_ROTATION = 999;
+
+    /** The most IDs in a range on Day 2. */
+    private static final int MAX_ID_RANGE = 100_000;
+
+    /** The number of batteries in each bank on Day 3. */
+    private static final int BATTERIES = 100;
+
+    /** The number of rows of numbers in each problem on Day 6. */
+    private static final int NUMBER_ROWS = 4;
+
+    /** The most timelines a tachyon beam splits into on Day 7. */
+    private static final long MAX_TIMELINES = 1_000_000_000_000_000L;
+
+    /** The coordinates of the junction boxes on Day 8 are less than this. */
+    private static final int PLAYGROUND_SIZE = 100_000;
+
+    /**
+     * The coordinates of any number of junction boxes on Day 8 are less than
+     * this, so their squared distances are less than 2^48, and any two which
+     * are different are still different as doubles, after their square roots
+     * are taken.
+     */
+    private static final int MAX_PLAYGROUND_SIZE = 1 << 23;
+
+    /** The most presses of each button which make up the joltages on Day 10. */
+    private static final int MAX_PRESSES = 3;
+
+    /**
+     * The most joltage levels a machine's counters can be in, on their way to
+     * the target, on Day 10.
+     */
+    private static final int MAX_JOLTAGE_STATES = 20_000;
+
+    /** The most paths from any device to "out" on Day 11. */
+    private static final int MAX_PATHS = 100_000;
+
+    /** How far ahead (in topological order) a device's outputs can be on Day 11. */
+    private static final int OUTPUT_WINDOW = 30;
+
+    private static final Map<Integer, InputGenerator> generators = Map.ofEntries(Map.entry(1, Generators::day01),
+                                                                                 Map.entry(2, Generators::day02),
+                                                                                 Map.entry(3, Generators::day03),
+                                                                                 Map.entry(4, Generators::day04),
+                                                                                 Map.entry(5, Generators::day05),
+                                                                                 Map.entry(6, Generators::day06),
+                                                                                 Map.entry(7, Generators::day07),
+                                                                                 Map.entry(8, Generators::day08),
+                                                                                 Map.entry(9, Generators::day09),
+                                                                                 Map.entry(10, Generators::day10),
+                                                                                 Map.entry(11, Generators::day11));
+
+
+
+    private Generators() {
+    }
+
+
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            log.error("Usage: Generators <day> <size> [seed] [file]");
+            return;
+        }
+
+        int day = Integer.parseInt(args[0].replaceFirst("(?i)^day", ""));
+        int size = Integer.parseInt(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+
+        var generator = forDay(day).orElseThrow(() -> new IllegalArgumentException("There is no generator for day " + day));
+        var lines = generator.generate(seed, size);
+
+        if (args.length > 3) {
+            var file = Path.of(args[3]);
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+            Files.write(file, lines);
+            log.info("Wrote {} lines for day {} (size {}, seed {}) to {}", lines.size(), day, size, seed, file);
+        } else {
+            lines.forEach(System.out::println);
+        }
+    }
+
+
+
+    /**
+     * @param day The day of the puzzle, from 1.
+     * @return The generator for the day's input, or empty if there isn't one.
+     */
+    public static Optional<InputGenerator> forDay(int day) {
+        return Optional.ofNullable(generators.get(day));
+    }
+
+
+
+    /**
+     * Rotations of the dial, each at most {@value #MAX_ROTATION} clicks.
+     *
+     * @param random The source of randomness.
+     * @param size The number of rotations.
+     * @return The lines of the input.
+     */
+    static List<String> day01(RandomGenerator random, int size) {
+        return IntStream.range(0, size)
+                        .mapToObj(i -> (random.nextBoolean() ? "L" : "R") + random.nextInt(1, MAX_ROTATION + 1))
+                        .toList();
+    }
+
+
+
+    /**
+     * Disjoint ranges of IDs of up to 10 digits, in no particular order, on
+     * one line. The ranges may cross from one number of digits to the next.
+     * Each range covers up to {@value #MAX_ID_RANGE} IDs, however many there
+     * are, so the work per range doesn't shrink as the input grows.
+     *
+     * @param random The source of randomness.
+     * @param size The number of ranges.
+     * @return The lines of the input.
+     */
+    static List<String> day02(RandomGenerator random, int size) {
+        // The ends of each range, by its start
+        TreeMap<Long, Long> ranges = new TreeMap<>();
+        while (ranges.size() < size) {
+            long start = logUniform(random, 10);
+            long end = Math.min(start + logUniform(random, 5), 9_999_999_999L);
+            var before = ranges.floorEntry(end);
+            if (before == null || before.getValue() < start)
+                ranges.put(start, end);
+        }
+
+        List<String> shuffled = ranges.entrySet()
+                                      .stream()
+                                      .map(r -> r.getKey() + "-" + r.getValue())
+                                      .collect(Collectors.toCollection(ArrayList::new));
+        Collections.shuffle(shuffled, asRandom(random));
+
+        return List.of(String.join(",", shuffled));
+    }
+
+
+
+    /**
+     * Banks of {@value #BATTERIES} batteries, with joltages from 1 to 9.
+     *
+     * @param random The source of randomness.
+     * @param size The number of banks.
+     * @return The lines of the input.
+     */
+    static List<String> day03(RandomGenerator random, int size) {
+        return IntStream.range(0, size)
+                        .mapToObj(i -> random.ints(BATTERIES, 1, 10)
+                                             .mapToObj(Integer::toString)
+                                             .collect(Collectors.joining()))
+                        .toList();
+    }
+
+
+
+    /**
+     * A square grid, about two thirds of which is paper rolls.
+     *
+     * @param random The source of randomness.
+     * @param size The side of the grid.
+     * @return The lines of the input.
+     */
+    static List<String> day04(RandomGenerator random, int size) {
+        List<String> lines = new ArrayList<>(size);
+        char[] line = new char[size];
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++)
+                line[column] = random.nextInt(3) == 0 ? '.' : '@';
+            lines.add(new String(line));
+        }
+        return lines;
+    }
+
+
+
+    /**
+     * Ranges of fresh ingredient IDs of 15 digits, which may overlap, then a
+     * blank line, then five times as many available ingredient IDs, about half
+     * of which are fresh.
+     *
+     * @param random The source of randomness.
+     * @param size The number of ranges.
+     * @return The lines of the input.
+     */
+    static List<String> day05(RandomGenerator random, int size) {
+        long[][] ranges = new long[size][];
+        for (int i = 0; i < size; i++) {
+            long start = random.nextLong(100_000_000_000_000L, 600_000_000_000_000L);
+            ranges[i] = new long[] { start, start + logUniform(random, 13) };
+        }
+
+        List<String> lines = new ArrayList<>(size * 6 + 1);
+        Arrays.stream(ranges).forEach(r -> lines.add(r[0] + "-" + r[1]));
+        lines.add("");
+        for (int i = 0; i < size * 5; i++) {
+            if (random.nextBoolean()) {
+                var range = ranges[random.nextInt(size)];
+                lines.add(Long.toString(random.nextLong(range[0], range[1] + 1)));
+            } else {
+                lines.add(Long.toString(random.nextLong(100_000_000_000_000L, 600_000_000_000_000L)));
+            }
+        }
+        return lines;
+    }
+
+
+
+    /**
+     * Problems of {@value #NUMBER_ROWS} numbers of up to 4 digits, side by side
+     * and separated by a column of spaces, with the operation under the first
+     * column of each. The numbers in a problem are all aligned to its left or
+     * its right, and the digits in each column of a problem are next to each
+     * other, so the columns can be read as numbers too. Every line has the same
+     * length.
+     *
+     * @param random The source of randomness.
+     * @param size The number of problems.
+     * @return The lines of the input.
+     */
+    static List<String> day06(RandomGenerator random, int size) {
+        List<StringBuilder> lines = IntStream.rangeClosed(0, NUMBER_ROWS)
+                                             .mapToObj(i -> new StringBuilder())
+                                             .toList();
+
+        for (int problem = 0; problem < size; problem++) {
+            // Adding ever shorter numbers above or below the others keeps the digits in each column together
+            int[] digits = random.ints(NUMBER_ROWS, 1, 5).sorted().toArray();
+            Deque<String> numbers = new ArrayDeque<>(NUMBER_ROWS);
+            for (int row = NUMBER_ROWS - 1; row >= 0; row--) {
+                var number = Integer.toString(random.nextInt((int) Math.pow(10, digits[row] - 1), (int) Math.pow(10, digits[row])));
+                if (random.nextBoolean())
+                    numbers.addFirst(number);
+                else
+                    numbers.addLast(number);
+            }
+            int width = digits[NUMBER_ROWS - 1];
+
+            // The first problem is aligned to the left, so the lines don't start with a space
+            var format = problem > 0 && random.nextBoolean() ? "%" + width + "s" : "%-" + width + "s";
+            var separator = problem == size - 1 ? "" : " ";
+            var row = lines.iterator();
+            numbers.forEach(n -> row.next().append(format.formatted(n)).append(separator));
+            lines.getLast().append(("%-" + width + "s").formatted(random.nextBoolean() ? "*" : "+")).append(separator);
+        }
+
+        return lines.stream()
+                    .map(StringBuilder::toString)
+                    .toList();
+    }
+
+
+
+    /**
+     * A square manifold (with an extra row) with the start in the middle of
+     * the top row, and splitters on every other row. About two thirds of the
+     * places a beam could reach on those rows have a splitter, so no two
+     * splitters are next to each other, and none are on the edges. A splitter
+     * is left out wherever it would take the number of timelines past
+     * {@value #MAX_TIMELINES}, so part 2's count can't overflow.
+     *
+     * @param random The source of randomness.
+     * @param size The width of the manifold, rounded up to an odd number.
+     * @return The lines of the input.
+     */
+    static List<String> day07(RandomGenerator random, int size) {
+        int columns = Math.max(3, size | 1);
+        int middle = columns / 2;
+
+        // The number of timelines with a beam in each column
+        long[] timelines = new long[columns];
+        timelines[middle] = 1;
+        long totalTimelines = 1;
+
+        List<String> lines = new ArrayList<>(columns + 1);
+        char[] line = new char[columns];
+        for (int row = 0; row <= columns; row++) {
+            Arrays.fill(line, '.');
+            if (row == 0) {
+                line[middle] = 'S';
+            } else if (row % 2 == 0) {
+                // A beam can only reach every other column within the triangle below the start
+                int splits = row / 2;
+                for (int column = middle - splits + 1; column < middle + splits; column += 2) {
+                    long beams = timelines[column];
+                    if (random.nextInt(3) != 0 && totalTimelines + beams <= MAX_TIMELINES) {
+                        line[column] = '^';
+                        // Splitters are never next to each other, so the columns either side are not split again
+                        timelines[column - 1] += beams;
+                        timelines[column + 1] += beams;
+                        timelines[column] = 0;
+                        totalTimelines += beams;
+                    }
+                }
+            }
+            lines.add(new String(line));
+        }
+        return lines;
+    }
+
+
+
+    /**
+     * Junction boxes at distinct positions, with coordinates less than
+     * {@value #PLAYGROUND_SIZE} for up to 1000 of them, as in the real input.
+     * The distances between every pair are different, since the solution
+     * rejects an input where they aren't. The number of pairs grows with the
+     * square of the number of junction boxes, and the chance of a new one
+     * being as far from another as some other pair grows with the cube, so
+     * the playground grows with the number of junction boxes to the power of
+     * 1.5, up to {@value #MAX_PLAYGROUND_SIZE}, to keep that chance small.
+     *
+     * @param random The source of randomness.
+     * @param size The number of junction boxes, up to
+     *            {@link Day08#MAX_JUNCTION_BOXES}.
+     * @return The lines of the input.
+     * @throws IllegalArgumentException If there are more junction boxes than
+     *             the solution can connect.
+     */
+    static List<String> day08(RandomGenerator random, int size) {
+        if (size > Day08.MAX_JUNCTION_BOXES)
+            throw new IllegalArgumentException("Day 8 can connect at most %d junction boxes, not %d".formatted(Day08.MAX_JUNCTION_BOXES, size));
+
+        Set<List<Integer>> positions = new HashSet<>();
+        List<int[]> boxes = new ArrayList<>(size);
+        var distances = new SquaredDistances(size * (size - 1) / 2);
+        int playgroundSize = (int) Math.min(MAX_PLAYGROUND_SIZE, PLAYGROUND_SIZE * Math.max(1, Math.pow(size / 1000.0, 1.5)));
+
+        // Place the boxes one at a time, trying again whenever one is as far from another as some other pair
+        while (boxes.size() < size) {
+            int[] box = random.ints(3, 0, playgroundSize).toArray();
+            var position = List.of(box[0], box[1], box[2]);
+            if (positions.contains(position))
+                continue;
+            if (!distances.addIfNew(boxes.stream().mapToLong(b -> squaredDistance(box, b)).toArray()))
+                continue;
+
+            positions.add(position);
+            boxes.add(box);
+        }
+
+        return boxes.stream()
+                    .map(b -> b[0] + "," + b[1] + "," + b[2])
+                    .toList();
+    }
+
+
+
+    private static long squaredDistance(int[] first, int[] second) {
+        long dx = first[0] - second[0];
+        long dy = first[1] - second[1];
+        long dz = first[2] - second[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+
+
+    /**
+     * The corners (red tiles) of a closed rectilinear polygon, in order, with
+     * each one in the same row or column as the next. The polygon is a
+     * "histogram": columns of random heights standing on a common base row,
+     * so it never crosses itself. The first and last corners are both on the
+     * base row, so the edge which closes the polygon is horizontal.
+     *
+     * @param random The source of randomness.
+     * @param size The number of corners, rounded up to an even number, and at
+     *            least 4.
+     * @return The lines of the input.
+     */
+    static List<String> day09(RandomGenerator random, int size) {
+        int steps = Math.max(2, (size + 1) / 2) - 1;
+        int maxGap = Math.max(1, 2 * PLAYGROUND_SIZE / steps);
+        int base = random.nextInt(1, 1000);
+
+        List<String> lines = new ArrayList<>(steps * 2 + 2);
+        int column = random.nextInt(1, 1000);
+        int height = base;
+        lines.add(base + "," + column);
+        for (int step = 0; step < steps; step++) {
+            // Each column is a different height from the one before, so no corner is in the middle of an edge
+            int previousHeight = height;
+            do {
+                height = base + random.nextInt(1, PLAYGROUND_SIZE);
+            } while (height == previousHeight);
+
+            lines.add(height + "," + column);
+            column += random.nextInt(1, maxGap + 1);
+            lines.add(height + "," + column);
+        }
+        lines.add(base + "," + column);
+        return lines;
+    }
+
+
+
+    /**
+     * Machines with 3 to 10 lights, and from 2 buttons up to 3 more buttons
+     * than lights. Every light is wired to at least one button. The lights to
+     * turn on are those toggled by a random, non-empty set of buttons, and the
+     * joltages are those reached by pressing each button up to
+     * {@value #MAX_PRESSES} times, so both can be reached. Presses are taken
+     * away until the counters have at most {@value #MAX_JOLTAGE_STATES} levels
+     * on the way to the joltages, so part 2's search of them is tractable.
+     *
+     * @param random The source of randomness.
+     * @param size The number of machines.
+     * @return The lines of the input.
+     */
+    static List<String> day10(RandomGenerator random, int size) {
+        List<String> lines = new ArrayList<>(size);
+        for (int machine = 0; machine < size; machine++) {
+            int lights = random.nextInt(3, 11);
+            int buttonCount = random.nextInt(2, lights + 4);
+
+            List<BitSet> buttons = new ArrayList<>(buttonCount);
+            BitSet wired = new BitSet(lights);
+            for (int b = 0; b < buttonCount; b++) {
+                BitSet button = new BitSet(lights);
+                // Wire the first buttons to any lights which aren't wired yet
+                int unwired = wired.nextClearBit(0);
+                if (unwired < lights)
+                    button.set(unwired);
+                int wires = random.nextInt(1, lights);
+                while (button.cardinality() < wires)
+                    button.set(random.nextInt(lights));
+                wired.or(button);
+                buttons.add(button);
+            }
+            // Make sure the last lights are wired, even if there were too few buttons
+            while (wired.nextClearBit(0) < lights) {
+                int unwired = wired.nextClearBit(0);
+                buttons.get(random.nextInt(buttonCount)).set(unwired);
+                wired.set(unwired);
+            }
+
+            BitSet target = new BitSet(lights);
+            while (target.isEmpty())
+                buttons.stream()
+                       .filter(b -> random.nextBoolean())
+                       .forEach(target::xor);
+
+            int[] presses = random.ints(buttonCount, 0, MAX_PRESSES + 1).toArray();
+            if (Arrays.stream(presses).allMatch(p -> p == 0))
+                presses[random.nextInt(buttonCount)] = 1;
+            int[] joltages = joltages(buttons, presses, lights);
+            // Press the buttons less until part 2 has few enough levels to search
+            while (Arrays.stream(joltages).mapToDouble(j -> j + 1).reduce(1, (a, b) -> a * b) > MAX_JOLTAGE_STATES &&
+                   Arrays.stream(presses).sum() > 1) {
+                int button = random.nextInt(buttonCount);
+                if (presses[button] > 0) {
+                    presses[button]--;
+                    joltages = joltages(buttons, presses, lights);
+                }
+            }
+
+            lines.add(IntStream.range(0, lights)
+                               .mapToObj(light -> target.get(light) ? "#" : ".")
+                               .collect(Collectors.joining("", "[", "] ")) +
+                      buttons.stream()
+                             .map(b -> b.stream()
+                                        .mapToObj(Integer::toString)
+                                        .collect(Collectors.joining(",", "(", ")")))
+                             .collect(Collectors.joining(" ")) +
+                      Arrays.stream(joltages)
+                            .mapToObj(Integer::toString)
+                            .collect(Collectors.joining(",", " {", "}")));
+        }
+        return lines;
+    }
+
+
+
+    private static int[] joltages(List<BitSet> buttons, int[] presses, int lights) {
+        int[] joltages = new int[lights];
+        for (int b = 0; b < buttons.size(); b++) {
+            int times = presses[b];
+            buttons.get(b).stream().forEach(light -> joltages[light] += times);
+        }
+        return joltages;
+    }
+
+
+
+    /**
+     * Devices wired as a directed acyclic graph, in no particular order. Every
+     * device only outputs to devices after it, in an order which starts with
+     * "svr", has "fft" a third of the way along, "dac" two thirds of the way,
+     * and ends with "out", so "dac" never leads to "fft". There is a path from
+     * "svr" through "fft" and "dac" to "out", and every device leads to "out",
+     * by at most {@value #MAX_PATHS} paths, so the paths can be counted one by
+     * one. "you" is somewhere in the first half.
+     * <p>
+     * Past 17576 devices, the names of the others are longer than three
+     * letters.
+     *
+     * @param random The source of randomness.
+     * @param size The number of devices, at least 5.
+     * @return The lines of the input.
+     */
+    static List<String> day11(RandomGenerator random, int size) {
+        int devices = Math.max(5, size);
+        int out = devices - 1;
+        int svr = 0;
+        int fft = devices / 3;
+        int dac = devices * 2 / 3;
+        int you;
+        do {
+            you = random.nextInt(1, devices / 2 + 1);
+        } while (you == fft || you == dac);
+
+        String[] names = deviceNames(devices, Map.of(svr, "svr", fft, "fft", dac, "dac", out, "out", you, "you"));
+
+        // Pick the path from "svr" to "out" which every input has
+        int[] next = new int[devices];
+        Arrays.fill(next, -1);
+        int device = svr;
+        for (int waypoint : new int[] { fft, dac, out }) {
+            while (device < waypoint) {
+                int following = Math.min(waypoint, device + random.nextInt(1, OUTPUT_WINDOW + 1));
+                next[device] = following;
+                device = following;
+            }
+        }
+
+        // Wire the devices from the last to the first, counting their paths to "out" as they go
+        long[] paths = new long[devices];
+        paths[out] = 1;
+        List<String> lines = new ArrayList<>(out);
+        for (device = out - 1; device >= 0; device--) {
+            int outputCount = random.nextInt(1, 5);
+            Set<Integer> outputs = new TreeSet<>();
+            // Every device has an output, so every device leads to "out"
+            int first = next[device] >= 0 ? next[device] : randomOutput(random, device, out);
+            outputs.add(first);
+            paths[device] = paths[first];
+            for (int o = 1; o < outputCount; o++) {
+                int output = randomOutput(random, device, out);
+                if (paths[device] + paths[output] <= MAX_PATHS && outputs.add(output))
+                    paths[device] += paths[output];
+            }
+
+            lines.add(names[device] + ": " + outputs.stream()
+                                                    .map(o -> names[o])
+                                                    .collect(Collectors.joining(" ")));
+        }
+
+        Collections.shuffle(lines, asRandom(random));
+        return lines;
+    }
+
+
+
+    private static int randomOutput(RandomGenerator random, int device, int out) {
+        return Math.min(out, device + random.nextInt(1, OUTPUT_WINDOW + 1));
+    }
+
+
+
+    /**
+     * @param devices The number of devices.
+     * @param reserved The names of particular devices.
+     * @return The names of the devices, of lower case letters, avoiding the
+     *         reserved names for the rest.
+     */
+    private static String[] deviceNames(int devices, Map<Integer, String> reserved) {
+        int letters = 3;
+        while (Math.pow(26, letters) < devices + reserved.size())
+            letters++;
+
+        String[] names = new String[devices];
+        int index = 0;
+        for (int device = 0; device < devices; device++) {
+            names[device] = reserved.get(device);
+            while (names[device] == null) {
+                char[] name = new char[letters];
+                int value = index++;
+                for (int l = letters - 1; l >= 0; l--, value /= 26)
+                    name[l] = (char) ('a' + value % 26);
+                if (!reserved.containsValue(new String(name)))
+                    names[device] = new String(name);
+            }
+        }
+        return names;
+    }
+
+
+
+    /**
+     * @param random The source of randomness.
+     * @param digits The most digits in the number.
+     * @return A number from 1 to 10<sup>digits</sup> - 1, with every number of
+     *         digits equally likely.
+     */
+    private static long logUniform(RandomGenerator random, int digits) {
+        return Math.max(1, (long) Math.pow(10, random.nextDouble(digits)));
+    }
+
+
+
+    /**
+     * @param random A source of randomness.
+     * @return A {@link Random} which draws from it, for the APIs which need
+     *         one.
+     */
+    private static Random asRandom(RandomGenerator random) {
+        return random instanceof Random r ? r : Random.from(random);
+    }
+
+
+    /**
+     * A set of squared distances, which are never 0, in an open addressed
+     * table, as there can be millions of them.
+     */
+    private static final class SquaredDistances {
+
+        private final long[] table;
+
+        private final int mask;
+
+
+
+        private SquaredDistances(int capacity) {
+            table = new long[Integer.highestOneBit(Math.max(1, capacity) * 2 - 1) * 2];
+            mask = table.length - 1;
+        }
+
+
+
+        /**
+         * @param distances The distances to add.
+         * @return {@code true} if none of the distances were in the set, or
+         *         repeated, so they were all added.
+         */
+        private boolean addIfNew(long[] distances) {
+            for (long distance : distances)
+                if (table[find(distance)] != 0)
+                    return false;
+
+            long[] sorted = distances.clone();
+            Arrays.sort(sorted);
+            for (int i = 1; i < sorted.length; i++)
+                if (sorted[i - 1] == sorted[i])
+                    return false;
+
+            for (long distance : distances)
+                table[find(distance)] = distance;
+            return true;
+        }
+
+
+
+        /**
+         * @return The slot holding the distance, or the empty slot where it
+         *         belongs.
+         */
+        private int find(long distance) {
+            int slot = (int) (distance * 0x9E3779B97F4A7C15L >>> 32) & mask;
+            while (table[slot] != 0 && table[slot] != distance)
+                slot = (slot + 1) & mask;
+            return slot;
+        }
+    }
+
+}
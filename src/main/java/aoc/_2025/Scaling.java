@@ -0,0 +1,403 @@
+package aoc._2025;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.Measurement;
+import aoc.Puzzle;
+import aoc.Puzzles;
+import aoc.Season;
+import aoc.Season.DayResult;
+import aoc.Season.Stage;
+import aoc.Season.Status;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Measures how each day's stages scale with the size of their input, by
+ * running them on {@link Generators generated} inputs which double in size at
+ * each step, and fitting a line to the logarithms of the times (and the
+ * allocations) against the sizes. The slope of the line is the empirical
+ * complexity of the stage, e.g. "Day09 part2 ~ n^3.1".
+ * <p>
+ * Each day has a target complexity for each stage, in {@link #sweeps}, where
+ * n is the size given to the day's generator (e.g. the side of the grid for
+ * Day 4 and Day 7, so n<sup>2</sup> is linear in the number of cells). A
+ * stage whose time grows faster than n to the power of its target (plus a
+ * tolerance for logarithmic factors and noise) is flagged.
+ * <p>
+ * Before each day's sweep, its stages are run a number of {@code --warmup}
+ * rounds on the smallest input. A stage stops being measured once it takes
+ * longer than the budget, so the worst ones don't hold up the sweep. Times too
+ * short to measure reliably are left out of the fit.
+ * <p>
+ * Usage: {@code Scaling [--steps n] [--budget seconds] [--timeout seconds]
+ * [--warmup rounds] [--iterations rounds] [--json file] [--verbose] [day...]}
+ *
+ * @author Paul Cormier
+ */
+public final class Scaling {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Scaling.class);
+
+    private static final int YEAR = 2025;
+
+    /** How much bigger each input in a sweep is than the one before. */
+    private static final int FACTOR = 2;
+
+    /** How much higher than its target a stage's exponent can be before it's flagged. */
+    private static final double TOLERANCE = 0.3;
+
+    /** Times shorter than this are too noisy to fit. */
+    private static final long MIN_NANOS = 1_000_000;
+
+    /** The fewest sizes needed to fit a line. */
+    private static final int MIN_POINTS = 3;
+
+    /** The size of the first input, and the target exponent of each stage, for each day. */
+    private static final List<Sweep> sweeps = List.of(new Sweep(1, 50_000, 1, 1, 1),
+                                                      new Sweep(2, 2_000, 1, 1, 1),
+                                                      new Sweep(3, 4_000, 1, 1, 1),
+                                                      new Sweep(4, 25, 2, 2, 2),
+                                                      new Sweep(5, 4_000, 1, 1, 1),
+                                                      new Sweep(6, 4_000, 1, 1, 1),
+                                                      new Sweep(7, 100, 2, 2, 2),
+                                                      new Sweep(8, 100, 2, 1, 1),
+                                                      new Sweep(9, 16, 1, 2, 2),
+                                                      new Sweep(10, 100, 1, 1, 1),
+                                                      new Sweep(11, 1_000, 1, 1, 1));
+
+    private final int steps;
+
+    private final Duration budget;
+
+    private final Duration timeout;
+
+    private final int warmup;
+
+    private final int iterations;
+
+
+
+    /**
+     * @param steps The number of sizes in each sweep.
+     * @param budget The time after which a stage isn't run on larger inputs.
+     * @param timeout The time after which a stage is abandoned.
+     * @param warmup The number of rounds to run on the smallest input, to
+     *            warm up the JIT compiler before a day's sweep.
+     * @param iterations The number of measured rounds at each size.
+     */
+    public Scaling(int steps, Duration budget, Duration timeout, int warmup, int iterations) {
+        this.steps = steps;
+        this.budget = budget;
+        this.timeout = timeout;
+        this.warmup = warmup;
+        this.iterations = iterations;
+    }
+
+
+
+    public static void main(String[] args) {
+        int steps = 6;
+        Duration budget = Duration.ofSeconds(5);
+        Duration timeout = Duration.ofSeconds(60);
+        int warmup = 10;
+        int iterations = 3;
+        boolean verbose = false;
+        Path json = null;
+        Set<Integer> days = new HashSet<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--steps" -> steps = Integer.parseInt(args[++i]);
+                case "--budget" -> budget = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--timeout" -> timeout = Duration.ofSeconds(Long.parseLong(args[++i]));
+                case "--warmup" -> warmup = Integer.parseInt(args[++i]);
+                case "--iterations" -> iterations = Integer.parseInt(args[++i]);
+                case "--json" -> json = Path.of(args[++i]);
+                case "--verbose" -> verbose = true;
+                default -> days.add(Integer.valueOf(args[i].replaceFirst("^Day", "")));
+            }
+        }
+
+        // The days' own logging would drown out the report, which is in the same package
+        if (!verbose) {
+            ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger("aoc._" + YEAR).setLevel(Level.WARN);
+            log.setLevel(Level.INFO);
+        }
+
+        Scaling scaling = new Scaling(steps, budget, timeout, warmup, iterations);
+        List<StageScaling> results = sweeps.stream()
+                                           .filter(s -> days.isEmpty() || days.contains(s.day()))
+                                           .flatMap(s -> scaling.sweep(s).stream())
+                                           .toList();
+        scaling.report(results);
+        if (json != null)
+            scaling.writeJson(results, json);
+    }
+
+
+
+    /**
+     * Run a day's stages on ever larger inputs.
+     *
+     * @param sweep The day, and where to start.
+     * @return How each of the day's stages scaled.
+     */
+    public List<StageScaling> sweep(Sweep sweep) {
+        Puzzle<Object> puzzle = Puzzles.create(YEAR, sweep.day())
+                                       .orElseThrow(() -> new IllegalArgumentException("No puzzle for day " + sweep.day()));
+        var generator = Generators.forDay(sweep.day())
+                                  .orElseThrow(() -> new IllegalArgumentException("No generator for day " + sweep.day()));
+        String day = puzzle.getClass().getSimpleName();
+
+        Map<String, List<Point>> points = new LinkedHashMap<>();
+        Set<String> stopped = new HashSet<>();
+
+        // Otherwise the smaller inputs run before the JIT compiler catches up, which flattens the fit
+        new Season(true, timeout).repeat(warmup, 1).runDay(puzzle, generator.generate(Generators.DEFAULT_SEED, sweep.from()));
+
+        int size = sweep.from();
+        for (int step = 0; step < steps && stopped.size() < 3; step++, size *= FACTOR) {
+            List<String> lines = generator.generate(Generators.DEFAULT_SEED, size);
+            // One more warmup round settles the JIT compiler after the change of size
+            DayResult result = new Season(true, timeout).repeat(1, iterations)
+                                                        .skip(stopped.stream().map(s -> day + "." + s).toList())
+                                                        .runDay(puzzle, lines);
+
+            for (Entry<String, Stage<?>> entry : result.stages().entrySet()) {
+                String stage = entry.getKey();
+                Stage<?> outcome = entry.getValue();
+                if (stopped.contains(stage))
+                    continue;
+
+                if (outcome.status() == Status.SOLVED) {
+                    Measurement measurement = outcome.measurement();
+                    points.computeIfAbsent(stage, s -> new ArrayList<>())
+                          .add(new Point(size, measurement.nanos(), measurement.allocatedBytes()));
+                    log.info("{} {} at size {}: {}", day, stage, size, measurement);
+                    if (measurement.nanos() > budget.toNanos()) {
+                        log.info("{} {} took longer than {} s, so it won't be run on larger inputs", day, stage, budget.toSeconds());
+                        stopped.add(stage);
+                    }
+                } else {
+                    log.info("{} {} at size {}: {}", day, stage, size, outcome.status());
+                    stopped.add(stage);
+                }
+            }
+
+            // Without the parsed input, neither part can be run
+            if (stopped.contains("parse"))
+                stopped.addAll(List.of("part1", "part2"));
+        }
+
+        return points.entrySet()
+                     .stream()
+                     .map(e -> new StageScaling(day, e.getKey(), sweep.target(e.getKey()), List.copyOf(e.getValue())))
+                     .toList();
+    }
+
+
+
+    private void report(List<StageScaling> results) {
+        String format = "%-6s %-6s %15s %7s %8s %11s  %s";
+        log.info("{}", format.formatted("", "", "Sizes", "Target", "Time", "Allocation", ""));
+        for (StageScaling result : results)
+            log.info("{}", format.formatted(result.day(),
+                                            result.stage(),
+                                            "%d-%d".formatted(result.points().getFirst().size(), result.points().getLast().size()),
+                                            "n^%.0f".formatted(result.target()),
+                                            formatExponent(result.timeExponent()),
+                                            formatExponent(result.allocationExponent()),
+                                            result.flagged() ? "SLOWER THAN TARGET" : ""));
+
+        results.stream()
+               .filter(StageScaling::flagged)
+               .forEach(r -> log.warn("{} {} ~ n^{} (target n^{})",
+                                      r.day(),
+                                      r.stage(),
+                                      "%.1f".formatted(r.timeExponent().getAsDouble()),
+                                      "%.0f".formatted(r.target())));
+    }
+
+
+
+    private static String formatExponent(OptionalDouble exponent) {
+        return exponent.isPresent() ? "n^%.2f".formatted(exponent.getAsDouble()) : "?";
+    }
+
+
+
+    /**
+     * Write the results to a JSON file, with an entry for each stage of each
+     * day, named like {@code Day01.part1}.
+     *
+     * @param results The results of the sweeps.
+     * @param file The file to write.
+     */
+    public void writeJson(List<StageScaling> results, Path file) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"factor\": ").append(FACTOR).append(",\n");
+        json.append("  \"seed\": ").append(Generators.DEFAULT_SEED).append(",\n");
+        json.append("  \"results\": {");
+
+        String separator = "\n";
+        for (StageScaling result : results) {
+            json.append(separator)
+                .append("    \"").append(result.day()).append('.').append(result.stage()).append("\": {")
+                .append("\"target\": ").append(result.target()).append(", ")
+                .append("\"timeExponent\": ").append(jsonNumber(result.timeExponent())).append(", ")
+                .append("\"allocationExponent\": ").append(jsonNumber(result.allocationExponent())).append(", ")
+                .append("\"flagged\": ").append(result.flagged()).append(", ")
+                .append("\"points\": [")
+                .append(result.points()
+                              .stream()
+                              .map(p -> "{\"size\": %d, \"millis\": %s, \"allocatedBytes\": %d}".formatted(p.size(),
+                                                                                                         p.nanos() / 1e6,
+                                                                                                         p.allocatedBytes()))
+                              .collect(Collectors.joining(", ")))
+                .append("]}");
+            separator = ",\n";
+        }
+        json.append("\n  }\n}\n");
+
+        try {
+            if (file.getParent() != null)
+                Files.createDirectories(file.getParent());
+            Files.writeString(file, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+        log.info("Wrote the results to {}", file);
+    }
+
+
+
+    private static String jsonNumber(OptionalDouble value) {
+        return value.isPresent() ? Double.toString(value.getAsDouble()) : "null";
+    }
+
+
+
+    /**
+     * Fit a line to the logarithm of a cost against the logarithm of the
+     * size, by least squares.
+     *
+     * @param points The measurements at each size.
+     * @param cost The cost to fit.
+     * @param minimum The smallest cost to include.
+     * @return The slope of the line, or empty if there were too few points.
+     */
+    static OptionalDouble slope(List<Point> points, ToLongFunction<Point> cost, long minimum) {
+        var fitted = points.stream()
+                           .filter(p -> cost.applyAsLong(p) >= Math.max(1, minimum))
+                           .toList();
+        if (fitted.size() < MIN_POINTS)
+            return OptionalDouble.empty();
+
+        double meanX = fitted.stream().mapToDouble(p -> Math.log(p.size())).average().getAsDouble();
+        double meanY = fitted.stream().mapToDouble(p -> Math.log(cost.applyAsLong(p))).average().getAsDouble();
+        double covariance = 0;
+        double variance = 0;
+        for (Point point : fitted) {
+            double x = Math.log(point.size()) - meanX;
+            covariance += x * (Math.log(cost.applyAsLong(point)) - meanY);
+            variance += x * x;
+        }
+        return OptionalDouble.of(covariance / variance);
+    }
+
+
+
+    /**
+     * Where a day's sweep starts, and the complexity each of its stages
+     * should have.
+     *
+     * @param day The day of the puzzle.
+     * @param from The size of the first input.
+     * @param parse The target exponent for parsing.
+     * @param part1 The target exponent for part 1.
+     * @param part2 The target exponent for part 2.
+     */
+    public record Sweep(int day, int from, double parse, double part1, double part2) {
+
+        double target(String stage) {
+            return switch (stage) {
+                case "parse" -> parse;
+                case "part1" -> part1;
+                case "part2" -> part2;
+                default -> throw new IllegalArgumentException("Unexpected stage: " + stage);
+            };
+        }
+    }
+
+
+
+    /**
+     * What a stage cost at one size.
+     *
+     * @param size The size given to the generator.
+     * @param nanos The median wall time, in nanoseconds.
+     * @param allocatedBytes The bytes allocated, or -1 if unknown.
+     */
+    public record Point(int size, long nanos, long allocatedBytes) {
+    }
+
+
+
+    /**
+     * How a stage of a day scaled.
+     *
+     * @param day The name of the day's class.
+     * @param stage The stage: {@code parse}, {@code part1} or {@code part2}.
+     * @param target The target exponent.
+     * @param points The measurements at each size.
+     */
+    public record StageScaling(String day, String stage, double target, List<Point> points) {
+
+        /**
+         * @return The exponent of the stage's time, or empty if it was too
+         *         fast, or too slow, to measure at enough sizes.
+         */
+        public OptionalDouble timeExponent() {
+            return slope(points, Point::nanos, MIN_NANOS);
+        }
+
+
+
+        /**
+         * @return The exponent of the stage's allocation, or empty if it
+         *         couldn't be measured at enough sizes.
+         */
+        public OptionalDouble allocationExponent() {
+            return slope(points, Point::allocatedBytes, 1);
+        }
+
+
+
+        /**
+         * @return {@code true} if the stage's time grew faster than its target.
+         */
+        public boolean flagged() {
+            return timeExponent().orElse(0) > target + TOLERANCE;
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+package aoc._2025.reference;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.Coordinate3D;
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * https://adventofcode.com/2025/day/08
+ * <p>
+ * A frozen copy of {@link aoc._2025.Day08}, kept as the reference which the
+ * {@link aoc._2025.Differential differential tests} check rewrites of it
+ * against. Don't optimise this one.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public class Day08 implements Puzzle<Day08.Playground> {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day08.class);
+
+    /** The number of connections to make in part 1. */
+    private final int connections;
+
+
+
+    public static void main(String[] args) {
+        PuzzleRunner.of(new Day08(), log)
+                    .testPuzzle(new Day08(10))
+                    .part1("If you multiply together the sizes of the three largest circuits, you get {}", 40)
+                    .part2("The product of the x coordinates of the last two junction boxes to be connected is {}", 25_272)
+                    .run();
+    }
+
+
+
+    /**
+     * Create a {@link Day08} puzzle, which makes 1000 connections in part 1.
+     */
+    public Day08() {
+        this(1000);
+    }
+
+
+
+    /**
+     * @param connections The number of connections to make in part 1.
+     */
+    public Day08(int connections) {
+        this.connections = connections;
+    }
+
+
+
+    /**
+     * Parse the positions of the junction boxes, and determine the distance
+     * between every pair of them.
+     * 
+     * @param lines The lines read from the input.
+     * @return The positions of the junction boxes, and the pairs of junction
+     *         boxes in order from closest to farthest.
+     */
+    @Override
+    public Playground parse(final List<String> lines) {
+
+        // Parse the coordinates
+        var positions = lines.stream()
+                             .map(l -> l.split(","))
+                             .map(c -> new Coordinate3D(Integer.valueOf(c[0]), Integer.valueOf(c[1]), Integer.valueOf(c[2])))
+                             .toList();
+
+        // Determine the distance between every pair
+        List<Connection> connections = new ArrayList<>(positions.size() * (positions.size() - 1) / 2);
+        for (int first = 0; first < positions.size(); first++) {
+            for (int second = first + 1; second < positions.size(); second++) {
+                var distance = positions.get(first).distanceTo(positions.get(second));
+                if (distance > 0)
+                    connections.add(new Connection(distance, first, second));
+            }
+        }
+
+        connections.sort(Comparator.comparingDouble(Connection::distance));
+
+        // The order of the connections is ambiguous if any pairs are equally far apart
+        for (int i = 1; i < connections.size(); i++) {
+            var previous = connections.get(i - 1);
+            if (previous.distance() == connections.get(i).distance())
+                throw new IllegalArgumentException("There was already a pair of coordinates %.5f apart (%s, %s).".formatted(previous.distance(),
+                                                                                                                            positions.get(previous.first()),
+                                                                                                                            positions.get(previous.second())));
+        }
+
+        return new Playground(positions, connections);
+    }
+
+
+
+    /**
+     * Given the coordinates of the junction boxes, connect the 10 shortest
+     * connections. Then find the three biggest groups, and return the product
+     * of their sizes.
+     * 
+     * @param playground The junction boxes, and the pairs of them in order from
+     *            closest to farthest.
+     * 
+     * @return The value calculated for part 1.
+     */
+    @Override
+    public long part1(final Playground playground) {
+
+        var junctionBoxes = playground.createJunctionBoxes();
+
+        // Connect the n-closest
+        playground.connections()
+                  .stream()
+                  .limit(connections)
+                  .forEach(c -> junctionBoxes.get(c.first()).connect(junctionBoxes.get(c.second())));
+
+        // Find the 3 biggest resulting circuits
+        log.debug("Resulting circuits:");
+        return junctionBoxes.stream()
+                            .map(JunctionBox::getCircuit)
+                            .distinct()
+                            .sorted(Comparator.comparing(Set::size, Comparator.reverseOrder()))
+                            .peek(c -> {
+                                if (Trace.debug(log))
+                                    log.debug("{} {}", c.size(), c.stream().map(JunctionBox::getPosition).toList());
+                            })
+                            .limit(3)
+                            .mapToLong(Set::size)
+                            .reduce(Math::multiplyExact)
+                            .getAsLong();
+
+    }
+
+
+
+    /**
+     * Connect the junction boxes, in order from closest to farthest, until they
+     * form a single circuit. Then find the product of the x coordinates of the
+     * last two to be connected.
+     * 
+     * @param playground The junction boxes, and the pairs of them in order from
+     *            closest to farthest.
+     * @return The value calculated for part 2.
+     */
+    @Override
+    public long part2(final Playground playground) {
+
+        var junctionBoxes = playground.createJunctionBoxes();
+
+        // Connect them until the circuit contains all the junction boxes
+        for (var connection : playground.connections()) {
+            var left = junctionBoxes.get(connection.first());
+            var right = junctionBoxes.get(connection.second());
+            left.connect(right);
+
+            if (left.getCircuit().size() == junctionBoxes.size())
+                return (long) left.getPosition().getRow() * right.getPosition().getRow();
+        }
+
+        return -1;
+    }
+
+
+
+    /**
+     * The junction boxes in the playground.
+     * 
+     * @param positions The positions of the junction boxes.
+     * @param connections Every pair of junction boxes, in order from closest to
+     *            farthest.
+     */
+    record Playground(List<Coordinate3D> positions, List<Connection> connections) {
+
+        /**
+         * @return A new, unconnected, {@link JunctionBox} at each position.
+         */
+        List<JunctionBox> createJunctionBoxes() {
+            return positions.stream()
+                            .map(JunctionBox::new)
+                            .toList();
+        }
+    }
+
+
+
+    /**
+     * A possible connection between two junction boxes.
+     * 
+     * @param distance The distance between the junction boxes.
+     * @param first The index of the first junction box.
+     * @param second The index of the second junction box.
+     */
+    record Connection(double distance, int first, int second) {
+    }
+
+
+
+    /**
+     * A representation of a junction box, which has a position in three
+     * dimensional space, and a set of junction boxes which form a circuit
+     * together.
+     */
+    private static class JunctionBox {
+
+        /** The junction box's position in three dimensional space. */
+        private final Coordinate3D position;
+
+        /**
+         * The circuit to which the junction box is connected. Initially, it is
+         * only connected to itself.
+         */
+        private Set<JunctionBox> circuit;
+
+
+
+        /**
+         * Create a new {@link JunctionBox} at the given point in three
+         * dimensional space.
+         * 
+         * @param position The {@link Coordinate3D} describing this bow's
+         *            position in three dimensional space.
+         */
+        public JunctionBox(Coordinate3D position) {
+            this.position = position;
+            this.circuit = new HashSet<>();
+            this.circuit.add(this);
+        }
+
+
+
+        public Coordinate3D getPosition() {
+            return position;
+        }
+
+
+
+        public Set<JunctionBox> getCircuit() {
+            return circuit;
+        }
+
+
+
+        /**
+         * Connect this junction box to another junction box. In doing so all of
+         * the junction boxes in its circuit will be added to the target's
+         * circuit.
+         * 
+         * @param otherJunctionBox The other junction to connect to.
+         */
+        public void connect(JunctionBox otherJunctionBox) {
+            otherJunctionBox.circuit.addAll(circuit);
+            circuit.forEach(c -> c.circuit = otherJunctionBox.circuit);
+            if (Trace.debug(log))
+                log.debug("Connecting {} to {} (distance {}). New circuit is {}.",
+                          this.getPosition(), otherJunctionBox.getPosition(),
+                          this.getPosition().distanceTo(otherJunctionBox.getPosition()),
+                          otherJunctionBox.circuit.size());
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,379 @@
+package aoc._2025.reference;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.Puzzle;
+import aoc.PuzzleRunner;
+import aoc.Trace;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * https://adventofcode.com/2025/day/10
+ * <p>
+ * A frozen copy of {@link aoc._2025.Day10}, kept as the reference which the
+ * {@link aoc._2025.Differential differential tests} check rewrites of it
+ * against. Don't optimise this one.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public class Day10 implements Puzzle<List<Day10.Machine>> {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day10.class);
+
+
+
+    public static void main(String[] args) {
+        PuzzleRunner.of(new Day10(), log)
+                    .part1("{} is the fewest button presses required to correctly configure the indicator lights on all of the machines.", 7)
+                    .part2("{} is the fewest button presses required to correctly configure the joltage level counters on all of the machines.",
+                           33)
+                    .run();
+    }
+
+
+
+    /**
+     * Parse the machine configurations.
+     * 
+     * @param lines The lines read from the input.
+     * @return The configured machines.
+     */
+    @Override
+    public List<Machine> parse(final List<String> lines) {
+
+        List<Machine> machines = lines.stream()
+                                      .map(Machine::fromLine)
+                                      .toList();
+
+        log.atDebug()
+           .setMessage("\n{}")
+           .addArgument(() -> machines.stream().map(Machine::toString).collect(joining("\n")))
+           .log();
+
+        return machines;
+    }
+
+
+
+    /**
+     * Given the machine configurations on each line, how many button presses
+     * are needed to reach the desired state for all machines?
+     * 
+     * @param machines The configured machines.
+     * @return The total number of button presses to get to the desired state
+     *         for all machines.
+     */
+    @Override
+    public long part1(final List<Machine> machines) {
+
+        // Run the machine, and press buttons until the desired state is reached
+        return machines.stream()
+                       .mapToInt(Day10::runToStart)
+                       .sum();
+
+    }
+
+
+
+    /**
+     * Given a {@link Machine}, figure out how few button presses are needed to
+     * get it to its starting state.
+     * 
+     * @param machine The configured {@link Machine} to start.
+     * 
+     * @return The minimum number of button presses needed to get it to start.
+     */
+    private static int runToStart(Machine machine) {
+
+        // Press each button a certain number of times
+        int buttonPresses = 1;
+
+        var buttons = machine.buttons;
+        log.debug("Buttons: {}", buttons);
+
+        // Setup the first press
+        log.atDebug()
+           .setMessage("From {}, to {}")
+           .addArgument(() -> Machine.lightString(new BitSet(), machine.joltages.size()))
+           .addArgument(() -> buttons.stream()
+                                     .map(s -> Machine.lightString(s, machine.joltages.size()))
+                                     .collect(joining(",")))
+           .log();
+
+        // Track the various resulting states
+        Queue<BitSet> states = new ArrayDeque<>();
+        // Avoid revisiting old states
+        Set<BitSet> previousStates = new HashSet<>();
+        Set<BitSet> newStates = new HashSet<>(buttons);
+
+        while (!newStates.contains(machine.startLight)) {
+            states.addAll(newStates);
+            newStates.clear();
+            while (!states.isEmpty()) {
+                // Compute the new states by pushing each button
+                BitSet state = states.poll();
+
+                buttons.forEach(b -> {
+                    var newState = new BitSet();
+                    // Copy the base state
+                    newState.or(state);
+                    // Apply the button
+                    newState.xor(b);
+                    newStates.add(newState);
+                    previousStates.add(state);
+                });
+
+                if (Trace.debug(log))
+                    log.atDebug()
+                       .setMessage("From {}, to {}")
+                       .addArgument(() -> Machine.lightString(state, machine.joltages.size()))
+                       .addArgument(() -> newStates.stream()
+                                                   .map(s -> Machine.lightString(s, machine.joltages.size()))
+                                                   .collect(joining(",")))
+                       .log();
+
+                // Avoid previous states
+                newStates.removeAll(previousStates);
+            }
+            buttonPresses++;
+        }
+
+        return buttonPresses;
+    }
+
+
+
+    /**
+     * What is the fewest button presses required to correctly configure the
+     * joltage level counters on all of the machines?
+     * 
+     * @param machines The configured machines.
+     * @return The value calculated for part 2.
+     */
+    @Override
+    public long part2(final List<Machine> machines) {
+
+        // Run the machine, and press buttons until the desired state is reached
+        return machines.stream()
+                       .mapToInt(Day10::runToJoltage)
+                       .sum();
+
+    }
+
+
+
+    /**
+     * Given a {@link Machine}, figure out how few button presses are needed to
+     * get it up to the required joltage levels.
+     * <p>
+     * NOTE This is the brute force approach which fails for more complex
+     * machines. The correct solution would involve treating the joltage values
+     * as the results of a system of equations based on the button configurations.
+     * <p>
+     * This keeps the original's cap of 100 presses, after which it gives up
+     * and returns 100, whereas {@link aoc._2025.Day10} searches on. The
+     * generated inputs never need as many: a machine has at most 13 buttons,
+     * each pressed at most 3 times to make its joltages, so the two agree on
+     * them.
+     * 
+     * @param machine The configured {@link Machine} to start.
+     * 
+     * @return The minimum number of button presses needed to get it up to
+     *         joltage.
+     */
+    private static int runToJoltage(Machine machine) {
+
+        // Press each button a certain number of times
+        int buttonPresses = 1;
+
+        var buttons = machine.buttons;
+        log.debug("Buttons: {}", buttons);
+
+        // Track the various resulting states
+        Queue<List<Integer>> states = new ArrayDeque<>();
+        // Avoid revisiting old states
+        Set<List<Integer>> previousStates = new HashSet<>();
+        Set<List<Integer>> newStates = new HashSet<>();
+
+        // Setup the first press 
+        buttons.forEach(b -> {
+            // Initialize the base state
+            List<Integer> newState = new ArrayList<>();
+            IntStream.range(0, machine.joltages.size()).forEach(i -> newState.add(0));
+            // Apply the button
+            b.stream()
+             .forEach(i -> newState.set(i, newState.get(i) + 1));
+
+            newStates.add(newState);
+        });
+        log.trace("From 0, to {}", newStates);
+        log.atTrace()
+           .setMessage("From {}, to {}")
+           .addArgument(() -> Machine.lightString(new BitSet(), machine.joltages.size()))
+           .addArgument(() -> buttons.stream()
+                                     .map(s -> Machine.lightString(s, machine.joltages.size()))
+                                     .collect(joining(",")))
+           .log();
+
+        while (!newStates.contains(machine.joltages) && buttonPresses < 100) {
+            if (Trace.debug(log))
+                log.debug("{} states to check.", newStates.size());
+            states.addAll(newStates);
+            newStates.clear();
+            while (!states.isEmpty()) {
+                // Compute the new states by pushing each button
+                List<Integer> state = states.poll();
+
+                buttons.forEach(b -> {
+                    // Copy the base state
+                    var newState = new ArrayList<>(state);
+                    // Apply the button
+                    b.stream()
+                     .forEach(i -> newState.set(i, newState.get(i) + 1));
+
+                    if (IntStream.range(0, newState.size()).allMatch(i -> newState.get(i) <= machine.joltages.get(i)))
+                        newStates.add(newState);
+
+                    previousStates.add(state);
+                });
+
+                if (Trace.trace(log))
+                    log.trace("From {}, to {}", state, newStates);
+
+                // Avoid previous states
+                newStates.removeAll(previousStates);
+            }
+            buttonPresses++;
+        }
+
+        log.debug("{} button presses for machine {}.", buttonPresses, machine);
+        return buttonPresses;
+    }
+
+
+
+    static class Machine {
+
+        /** The condition the light needs to be in to start. */
+        private BitSet startLight;
+
+        /** The buttons for this machine. */
+        private List<BitSet> buttons;
+
+        /** The joltages for this machine. */
+        private List<Integer> joltages;
+
+
+
+        /**
+         * Construct a new {@link Machine} with the given values.
+         * 
+         * @param startLight The value of the lights which indicates the machine
+         *            should start.
+         * @param buttons The values of the buttons for the machine.
+         * @param joltages The values of the joltages for the machine.
+         */
+        public Machine(BitSet startLight, List<BitSet> buttons, List<Integer> joltages) {
+            this.startLight = startLight;
+            this.buttons = buttons;
+            this.joltages = joltages;
+        }
+
+
+
+        /**
+         * Given a line containing a machine configuration, a single indicator
+         * light diagram in [square brackets], one or more button wiring
+         * schematics in (parentheses), and joltage requirements in {curly
+         * braces}, create a new {@link Machine} configured with these
+         * parameters.
+         * 
+         * @param line The configuration string for the {@link Machine}.
+         * @return A new {@link Machine}, configured according to the input
+         *         string.
+         */
+        public static Machine fromLine(String line) {
+            // Light diagram
+            BitSet light = new BitSet();
+            IntStream.range(1, line.lastIndexOf(']'))
+                     .forEach(i -> light.set(i - 1, line.charAt(i) == '#'));
+
+            // Button wiring
+            List<BitSet> buttons = Stream.of(line.substring(line.indexOf('(') + 1, line.lastIndexOf(')')).split("\\) \\("))
+                                         .map(b -> {
+                                             var bits = new BitSet();
+                                             Stream.of(b.split(","))
+                                                   .map(Integer::valueOf)
+                                                   .forEach(bits::set);
+                                             return bits;
+                                         })
+                                         .toList();
+
+            // Joltages
+            List<Integer> joltages = Stream.of(line.substring(line.indexOf('{') + 1, line.length() - 1).split(","))
+                                           .map(Integer::valueOf)
+                                           .toList();
+
+            return new Machine(light, buttons, joltages);
+        }
+
+
+
+        @Override
+        public String toString() {
+            StringBuilder string = new StringBuilder();
+
+            // Light diagram
+            string.append("[").append(lightString(startLight, this.joltages.size())).append("] ");
+
+            // Button wiring
+            String buttonString = this.buttons.stream()
+                                              .map(b -> b.stream()
+                                                         .mapToObj(Integer::toString)
+                                                         .collect(joining(",")))
+                                              .collect(joining(") ("));
+            string.append("(").append(buttonString).append(") ");
+
+            // Joltages
+            String joltageString = this.joltages.stream()
+                                                .map(Object::toString)
+                                                .collect(joining(","));
+            string.append("{").append(joltageString).append("}");
+
+            return string.toString();
+        }
+
+
+
+        /**
+         * Format a {@link BitSet} as a light string of a certain size.
+         * 
+         * @param light The {@link BitSet} to display as a light.
+         * @param size The number of elements in the light.
+         * @return A string representation of the BitString as a light.
+         */
+        public static String lightString(BitSet light, int size) {
+
+            char[] lightString = ".".repeat(size).toCharArray();
+            light.stream()
+                 .limit(size)
+                 .forEach(i -> lightString[i] = '#');
+            return "[" + String.valueOf(lightString) + "]";
+        }
+    }
+
+}
\ No newline at end of file
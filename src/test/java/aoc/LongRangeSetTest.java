@@ -0,0 +1,238 @@
+package aoc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.Range;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the set algebra of {@link LongRangeSet}, particularly where ranges
+ * are adjacent, and at the ends of the {@code long} values.
+ */
+class LongRangeSetTest {
+
+    private static final long MIN = Long.MIN_VALUE;
+
+    private static final long MAX = Long.MAX_VALUE;
+
+    private static final Range<Long> ALL = Range.of(MIN, MAX);
+
+
+
+    @Test
+    void consolidatesOverlappingAndAdjacentRanges() {
+        assertEquals(set(1, 10), set(6, 10, 1, 3, 4, 5, 2, 7));
+        assertEquals(set(1, 3, 5, 7), set(5, 7, 1, 3));
+        assertEquals(set(MIN, MIN + 1, MAX - 1, MAX), set(MAX, MAX, MIN + 1, MIN + 1, MAX - 1, MAX - 1, MIN, MIN));
+        assertEquals(2, set(1, 3, 5, 7).rangeCount());
+        assertEquals(LongRangeSet.empty(), LongRangeSet.of(5, 4));
+        assertEquals(LongRangeSet.empty(), LongRangeSet.of(List.of()));
+    }
+
+
+
+    @Test
+    void parse() {
+        assertEquals(set(3, 5, 10, 20), LongRangeSet.parse(List.of("3-5", "10-14", "16-20", "12-18")));
+    }
+
+
+
+    @Test
+    void containsAndSize() {
+        LongRangeSet set = set(MIN, MIN + 2, 10, 20, MAX, MAX);
+        assertTrue(set.contains(MIN));
+        assertTrue(set.contains(MIN + 2));
+        assertFalse(set.contains(MIN + 3));
+        assertFalse(set.contains(9));
+        assertTrue(set.contains(10));
+        assertTrue(set.contains(15));
+        assertTrue(set.contains(20));
+        assertFalse(set.contains(21));
+        assertFalse(set.contains(MAX - 1));
+        assertTrue(set.contains(MAX));
+        assertEquals(3 + 11 + 1, set.size());
+
+        assertFalse(LongRangeSet.empty().contains(0));
+        assertEquals(0, LongRangeSet.empty().size());
+        assertThrows(ArithmeticException.class, () -> LongRangeSet.of(MIN, MAX).size());
+    }
+
+
+
+    @Test
+    void emptySets() {
+        LongRangeSet empty = LongRangeSet.empty();
+        LongRangeSet set = set(1, 5, 10, 20);
+
+        assertEquals(set, set.union(empty));
+        assertEquals(set, empty.union(set));
+        assertEquals(empty, empty.union(empty));
+
+        assertEquals(empty, set.intersection(empty));
+        assertEquals(empty, empty.intersection(set));
+
+        assertEquals(set, set.difference(empty));
+        assertEquals(empty, empty.difference(set));
+        assertEquals(empty, set.difference(set));
+
+        assertEquals(set, set.symmetricDifference(empty));
+        assertEquals(set, empty.symmetricDifference(set));
+        assertEquals(empty, set.symmetricDifference(set));
+
+        assertEquals(LongRangeSet.of(-5, 5), empty.complement(Range.of(-5L, 5L)));
+        assertTrue(empty.isEmpty());
+        assertTrue(set.intersection(set(6, 9, 21, 30)).isEmpty());
+    }
+
+
+
+    @Test
+    void adjacentRanges() {
+        LongRangeSet low = set(1, 5);
+        LongRangeSet high = set(6, 10);
+
+        assertEquals(set(1, 10), low.union(high));
+        assertEquals(1, low.union(high).rangeCount());
+        assertTrue(low.intersection(high).isEmpty());
+        assertEquals(low, low.difference(high));
+        assertEquals(set(1, 10), low.symmetricDifference(high));
+
+        // Cutting a range out of the middle leaves the values either side of it
+        assertEquals(set(1, 4, 6, 10), set(1, 10).difference(set(5, 5)));
+        assertEquals(set(2, 9), set(1, 10).difference(set(1, 1, 10, 10)));
+        assertEquals(set(5, 5), set(1, 10).intersection(set(5, 5)));
+        assertEquals(set(1, 4, 11, 12), set(1, 10).symmetricDifference(set(5, 12)));
+    }
+
+
+
+    @Test
+    void rangesAtTheEnds() {
+        LongRangeSet bottom = set(MIN, MIN + 9);
+        LongRangeSet top = set(MAX - 9, MAX);
+
+        assertEquals(set(MAX - 20, MAX), top.union(set(MAX - 20, MAX - 10)));
+        assertEquals(set(MAX - 9, MAX), top.union(set(MAX, MAX)));
+        assertEquals(set(MIN, MIN + 9, MAX - 9, MAX), bottom.union(top));
+        assertEquals(set(MAX, MAX), top.intersection(set(MAX, MAX)));
+        assertEquals(set(MIN, MIN), bottom.intersection(set(MIN, MIN)));
+
+        assertEquals(set(MAX - 9, MAX - 1), top.difference(set(MAX, MAX)));
+        assertEquals(set(MIN + 1, MIN + 9), bottom.difference(set(MIN, MIN)));
+        assertEquals(set(MIN, MIN + 4), bottom.difference(set(MIN + 5, MAX)));
+        assertEquals(set(MIN + 1, MAX - 1), LongRangeSet.of(MIN, MAX).difference(set(MIN, MIN, MAX, MAX)));
+        assertTrue(LongRangeSet.of(MIN, MAX).difference(LongRangeSet.of(MIN, MAX)).isEmpty());
+
+        assertEquals(set(MIN, MAX), set(MIN, 0).symmetricDifference(set(1, MAX)));
+        assertEquals(set(MIN, -1, 1, MAX), set(MIN, 0).symmetricDifference(set(0, MAX)));
+    }
+
+
+
+    @Test
+    void complementAtTheEdgesOfTheBounds() {
+        Range<Long> bounds = Range.of(0L, 100L);
+
+        assertTrue(set(0, 100).complement(bounds).isEmpty());
+        assertTrue(set(-10, 110).complement(bounds).isEmpty());
+        assertEquals(set(1, 100), set(0, 0).complement(bounds));
+        assertEquals(set(0, 99), set(100, 100).complement(bounds));
+        assertEquals(set(1, 99), set(-5, 0, 100, 105).complement(bounds));
+        assertEquals(set(0, 100), set(-5, -1, 101, 105).complement(bounds));
+        assertEquals(set(0, 9, 21, 100), set(10, 20).complement(bounds));
+        assertEquals(set(50, 50), set(0, 50).complement(Range.of(50L, 50L)).union(set(50, 50)));
+
+        assertTrue(set(MIN, MAX).complement(ALL).isEmpty());
+        assertEquals(set(MIN, MAX), LongRangeSet.empty().complement(ALL));
+        assertEquals(set(MIN + 1, MAX), set(MIN, MIN).complement(ALL));
+        assertEquals(set(MIN, MAX - 1), set(MAX, MAX).complement(ALL));
+        assertEquals(set(MIN, -1, 1, MAX), set(0, 0).complement(ALL));
+        assertEquals(set(0, 0), set(0, 0).complement(ALL).complement(ALL));
+    }
+
+
+
+    /**
+     * Compares each operation on random sets of small values with the same
+     * operation on {@link BitSet}s of the values.
+     */
+    @Test
+    void matchesBitSets() {
+        Random random = new Random(2025);
+        for (int round = 0; round < 500; round++) {
+            BitSet firstBits = randomBits(random);
+            BitSet secondBits = randomBits(random);
+            LongRangeSet first = fromBits(firstBits);
+            LongRangeSet second = fromBits(secondBits);
+
+            BitSet union = (BitSet) firstBits.clone();
+            union.or(secondBits);
+            assertEquals(fromBits(union), first.union(second));
+
+            BitSet intersection = (BitSet) firstBits.clone();
+            intersection.and(secondBits);
+            assertEquals(fromBits(intersection), first.intersection(second));
+
+            BitSet difference = (BitSet) firstBits.clone();
+            difference.andNot(secondBits);
+            assertEquals(fromBits(difference), first.difference(second));
+
+            BitSet symmetricDifference = (BitSet) firstBits.clone();
+            symmetricDifference.xor(secondBits);
+            assertEquals(fromBits(symmetricDifference), first.symmetricDifference(second));
+
+            BitSet complement = (BitSet) firstBits.clone();
+            complement.flip(10, 51);
+            complement.clear(0, 10);
+            complement.clear(51, 64);
+            assertEquals(fromBits(complement), first.complement(Range.of(10L, 50L)));
+        }
+    }
+
+
+
+    /**
+     * @param bounds The inclusive start and end of each range, in pairs.
+     * @return The consolidated ranges.
+     */
+    private static LongRangeSet set(long... bounds) {
+        List<Range<Long>> ranges = new ArrayList<>();
+        for (int i = 0; i < bounds.length; i += 2)
+            ranges.add(Range.of(bounds[i], bounds[i + 1]));
+        return LongRangeSet.of(ranges);
+    }
+
+
+
+    private static BitSet randomBits(Random random) {
+        BitSet bits = new BitSet(64);
+        long density = random.nextInt(4);
+        for (int i = 0; i < 64; i++)
+            if (random.nextInt(4) < density)
+                bits.set(i);
+        return bits;
+    }
+
+
+
+    /**
+     * @return A set of the values, built one value at a time, so it only
+     *         relies on {@link LongRangeSet#of(java.util.Collection)} merging
+     *         adjacent values.
+     */
+    private static LongRangeSet fromBits(BitSet bits) {
+        return LongRangeSet.of(bits.stream()
+                                   .mapToObj(i -> Range.of((long) i, (long) i))
+                                   .toList());
+    }
+
+}
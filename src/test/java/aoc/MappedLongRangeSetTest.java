@@ -0,0 +1,203 @@
+package aoc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.commons.lang3.Range;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Checks that a {@link LongRangeSet} written by {@link MappedLongRangeSet}
+ * reads back the same, from one segment or several, and that files which
+ * aren't whole range indexes are rejected.
+ */
+class MappedLongRangeSetTest {
+
+    private static final int MAGIC = 0x4C525300;
+
+    private static final int VERSION = 1;
+
+    @TempDir
+    Path directory;
+
+
+
+    @Test
+    void roundTrip() throws IOException {
+        LongRangeSet ranges = randomRanges(new Random(2025), 1000);
+        Path file = directory.resolve("ranges.lrs");
+        MappedLongRangeSet.write(ranges, file);
+
+        assertSameRanges(ranges, MappedLongRangeSet.open(file));
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(file), files.toList(), "The temporary file should have been moved into place");
+        }
+    }
+
+
+
+    @Test
+    void roundTripOfEmptySet() throws IOException {
+        Path file = directory.resolve("empty.lrs");
+        MappedLongRangeSet.write(LongRangeSet.empty(), file);
+
+        var mapped = MappedLongRangeSet.open(file);
+        assertEquals(0, mapped.rangeCount());
+        assertEquals(0, mapped.size());
+        assertFalse(mapped.contains(0));
+        assertFalse(mapped.contains(Long.MIN_VALUE));
+    }
+
+
+
+    @Test
+    void roundTripAtTheEnds() throws IOException {
+        LongRangeSet ranges = LongRangeSet.of(List.of(Range.of(Long.MIN_VALUE, Long.MIN_VALUE + 1),
+                                                      Range.of(-1L, 1L),
+                                                      Range.of(Long.MAX_VALUE, Long.MAX_VALUE)));
+        Path file = directory.resolve("ends.lrs");
+        MappedLongRangeSet.write(ranges, file);
+
+        var mapped = MappedLongRangeSet.open(file);
+        assertSameRanges(ranges, mapped);
+        assertTrue(mapped.contains(Long.MIN_VALUE));
+        assertFalse(mapped.contains(Long.MIN_VALUE + 2));
+        assertTrue(mapped.contains(Long.MAX_VALUE));
+        assertFalse(mapped.contains(Long.MAX_VALUE - 1));
+    }
+
+
+
+    /**
+     * Maps 2 ranges per segment, so the ranges are split over several
+     * segments, the last of which is only partly full.
+     */
+    @Test
+    void roundTripOverSeveralSegments() throws IOException {
+        for (int count : new int[] { 1, 2, 3, 4, 7, 64 }) {
+            LongRangeSet ranges = randomRanges(new Random(count), count);
+            assertEquals(count, ranges.rangeCount());
+            Path file = directory.resolve("segments-" + count + ".lrs");
+            MappedLongRangeSet.write(ranges, file);
+
+            assertSameRanges(ranges, MappedLongRangeSet.open(file, 1));
+        }
+    }
+
+
+
+    @Test
+    void overwritesAnExistingIndex() throws IOException {
+        Path file = directory.resolve("ranges.lrs");
+        MappedLongRangeSet.write(LongRangeSet.of(1, 100), file);
+        MappedLongRangeSet.write(LongRangeSet.of(5, 6), file);
+
+        assertSameRanges(LongRangeSet.of(5, 6), MappedLongRangeSet.open(file));
+    }
+
+
+
+    @Test
+    void rejectsTruncatedHeaders() throws IOException {
+        assertRejected(new byte[0]);
+        assertRejected(new byte[] { 0x4C, 0x52, 0x53 });
+        assertRejected(Arrays.copyOf(file(MAGIC, VERSION, 0), 12));
+        assertRejected(Arrays.copyOf(file(MAGIC, VERSION, 0), 15));
+    }
+
+
+
+    @Test
+    void rejectsBadHeaders() throws IOException {
+        assertRejected(file(0x12345678, VERSION, 0));
+        assertRejected(file(MAGIC, VERSION + 1, 0));
+        assertRejected(file(MAGIC, VERSION, -1));
+    }
+
+
+
+    @Test
+    void rejectsCountsWhichDontMatchTheLength() throws IOException {
+        // Two ranges, but one more or one fewer in the header
+        assertRejected(file(MAGIC, VERSION, 3, 1, 2, 4, 5));
+        assertRejected(file(MAGIC, VERSION, 1, 1, 2, 4, 5));
+        // Half a range
+        assertRejected(Arrays.copyOf(file(MAGIC, VERSION, 1, 1, 2), 16 + 8));
+        // A count which overflows to the length of the file if it is multiplied out
+        assertRejected(file(MAGIC, VERSION, 1L << 60));
+        assertRejected(file(MAGIC, VERSION, Long.MAX_VALUE, 1, 2));
+    }
+
+
+
+    private void assertRejected(byte[] content) throws IOException {
+        Path file = Files.createTempFile(directory, "bad", ".lrs");
+        Files.write(file, content);
+        assertThrows(IOException.class, () -> MappedLongRangeSet.open(file));
+    }
+
+
+
+    private static void assertSameRanges(LongRangeSet expected, MappedLongRangeSet actual) {
+        assertEquals(expected.rangeCount(), actual.rangeCount());
+        for (int i = 0; i < expected.rangeCount(); i++) {
+            assertEquals(expected.getStart(i), actual.getStart(i));
+            assertEquals(expected.getEnd(i), actual.getEnd(i));
+
+            // Either side of each end of each range
+            for (long value : new long[] { expected.getStart(i), expected.getEnd(i) })
+                for (long delta = -1; delta <= 1; delta++)
+                    assertEquals(expected.contains(value + delta), actual.contains(value + delta), "contains " + (value + delta));
+        }
+        assertEquals(expected.size(), actual.size());
+    }
+
+
+
+    /**
+     * @return A set of exactly the given number of ranges.
+     */
+    private static LongRangeSet randomRanges(Random random, int count) {
+        List<Range<Long>> ranges = new ArrayList<>(count);
+        long start = random.nextLong(-1_000_000, 1_000_000);
+        for (int i = 0; i < count; i++) {
+            long end = start + random.nextInt(100);
+            ranges.add(Range.of(start, end));
+            // Leave a gap, so the ranges aren't merged
+            start = end + 2 + random.nextInt(100);
+        }
+        return LongRangeSet.of(ranges);
+    }
+
+
+
+    /**
+     * @return The bytes of an index with the given header, and values after
+     *         it.
+     */
+    private static byte[] file(int magic, int version, long rangeCount, long... values) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            output.writeInt(magic);
+            output.writeInt(version);
+            output.writeLong(rangeCount);
+            for (long value : values)
+                output.writeLong(value);
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,338 @@
+package aoc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.Range;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Checks that {@link MutableLongRangeSet} coalesces ranges as they are added,
+ * including at the ends of the {@code long} values, and that a reader of a
+ * {@link MutableLongRangeSet#concurrent() concurrent} set never loses a value
+ * while the writer merges ranges.
+ */
+class MutableLongRangeSetTest {
+
+    private static final long MIN = Long.MIN_VALUE;
+
+    private static final long MAX = Long.MAX_VALUE;
+
+
+
+    @Test
+    void coalescesOverlappingRanges() {
+        MutableLongRangeSet set = new MutableLongRangeSet();
+        set.add(1, 5);
+        set.add(3, 8);
+        assertRanges(set, 1, 8);
+
+        set.add(0, 2);
+        assertRanges(set, 0, 8);
+
+        // Contained in a range already in the set
+        set.add(2, 4);
+        assertRanges(set, 0, 8);
+        assertEquals(9, set.size());
+    }
+
+
+
+    @Test
+    void coalescesAdjacentRanges() {
+        MutableLongRangeSet set = new MutableLongRangeSet();
+        set.add(1, 5);
+        set.add(6, 8);
+        assertRanges(set, 1, 8);
+
+        set.add(10, 12);
+        assertRanges(set, 1, 8, 10, 12);
+
+        // Filling the gap between two ranges joins them
+        set.add(9, 9);
+        assertRanges(set, 1, 12);
+
+        set.add(-3, 0);
+        assertRanges(set, -3, 12);
+        assertEquals(16, set.size());
+    }
+
+
+
+    @Test
+    void absorbsEveryRangeItCovers() {
+        MutableLongRangeSet set = new MutableLongRangeSet();
+        for (long value = 1; value <= 9; value += 2)
+            set.add(value, value);
+        assertEquals(5, set.rangeCount());
+        assertEquals(5, set.size());
+
+        set.add(0, 6);
+        assertRanges(set, 0, 7, 9, 9);
+        assertEquals(9, set.size());
+
+        set.add(8, 8);
+        assertRanges(set, 0, 9);
+        assertEquals(10, set.size());
+    }
+
+
+
+    @Test
+    void ignoresEmptyRanges() {
+        MutableLongRangeSet set = new MutableLongRangeSet();
+        set.add(5, 4);
+        assertTrue(set.isEmpty());
+        assertEquals(0, set.size());
+        assertFalse(set.contains(4));
+        assertFalse(set.contains(5));
+    }
+
+
+
+    @Test
+    void coalescesAtLongMaxValue() {
+        MutableLongRangeSet set = new MutableLongRangeSet();
+        set.add(MAX, MAX);
+        assertTrue(set.contains(MAX));
+        assertFalse(set.contains(MAX - 1));
+
+        // Adjacent below
+        set.add(MAX - 3, MAX - 1);
+        assertRanges(set, MAX - 3, MAX);
+
+        // Overlapping, and ending at the same place
+        set.add(MAX - 5, MAX);
+        assertRanges(set, MAX - 5, MAX);
+
+        // Starting within it
+        set.add(MAX - 1, MAX);
+        assertRanges(set, MAX - 5, MAX);
+        assertEquals(6, set.size());
+
+        // Adjacent above a range which ends just before it
+        MutableLongRangeSet below = new MutableLongRangeSet();
+        below.add(MAX - 10, MAX - 1);
+        below.add(MAX, MAX);
+        assertRanges(below, MAX - 10, MAX);
+        assertEquals(11, below.size());
+
+        // Absorbing a range which ends at the largest value
+        MutableLongRangeSet absorbed = new MutableLongRangeSet();
+        absorbed.add(MAX - 2, MAX);
+        absorbed.add(MAX - 8, MAX - 6);
+        absorbed.add(MAX - 10, MAX - 3);
+        assertRanges(absorbed, MAX - 10, MAX);
+        assertEquals(11, absorbed.size());
+    }
+
+
+
+    @Test
+    void coalescesAtLongMinValue() {
+        MutableLongRangeSet set = new MutableLongRangeSet();
+        set.add(MIN, MIN);
+        set.add(MIN + 1, MIN + 3);
+        assertRanges(set, MIN, MIN + 3);
+
+        set.add(MIN, MIN + 5);
+        assertRanges(set, MIN, MIN + 5);
+        assertEquals(6, set.size());
+        assertTrue(set.contains(MIN));
+        assertFalse(set.contains(MIN + 6));
+    }
+
+
+
+    /**
+     * Adds random ranges, some overlapping, some adjacent, and compares the
+     * result after each one with the union of the same ranges.
+     */
+    @Test
+    void matchesUnion() {
+        Random random = new Random(2025);
+        for (int round = 0; round < 50; round++) {
+            MutableLongRangeSet set = new MutableLongRangeSet();
+            LongRangeSet expected = LongRangeSet.empty();
+            for (int i = 0; i < 200; i++) {
+                long start = random.nextInt(1000);
+                long end = start + random.nextInt(20);
+                set.add(start, end);
+                expected = expected.union(LongRangeSet.of(start, end));
+
+                assertEquals(expected, set.toLongRangeSet());
+                assertEquals(expected.size(), set.size());
+                assertEquals(expected.rangeCount(), set.rangeCount());
+            }
+        }
+    }
+
+
+
+    /**
+     * One thread adds ranges which merge into ever larger ones, while another
+     * thread checks that every value added by a finished
+     * {@link MutableLongRangeSet#add(long, long) add} is in the set, and that
+     * the values which are never added are not.
+     */
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void readerNeverLosesAValueWhileRangesAreMerged() throws InterruptedException {
+        Merges merges = Merges.random(20_000, 2025);
+        MutableLongRangeSet set = MutableLongRangeSet.concurrent();
+        AtomicInteger finished = new AtomicInteger();
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        Thread reader = Thread.ofPlatform().name("reader").start(() -> {
+            Random choices = new Random(1);
+            while (failure.get() == null) {
+                // Only the adds which had finished before this look must be seen
+                int done = finished.get();
+                if (done > 0) {
+                    Range<Long> added = merges.adds().get(choices.nextInt(done));
+                    long value = choices.nextLong(added.getMinimum(), added.getMaximum() + 1);
+                    if (!set.contains(value))
+                        failure.compareAndSet(null, "%d was lost after %d adds".formatted(value, done));
+                }
+
+                Range<Long> gap = merges.neverAdded().get(choices.nextInt(merges.neverAdded().size()));
+                long value = choices.nextLong(gap.getMinimum(), gap.getMaximum() + 1);
+                if (set.contains(value))
+                    failure.compareAndSet(null, "%d was found but never added".formatted(value));
+
+                if (done == merges.adds().size())
+                    return;
+            }
+        });
+
+        for (Range<Long> range : merges.adds()) {
+            set.add(range);
+            finished.incrementAndGet();
+        }
+        reader.join();
+
+        assertNull(failure.get());
+        // The gaps which are never filled are all between blocks
+        assertEquals(merges.neverAdded().size() + 1, set.rangeCount());
+    }
+
+
+
+    /**
+     * A reader on another thread only sees the moments between the writer's
+     * changes that the scheduler happens to show it, so this checks the set
+     * at the moments which matter, just before and just after the merged
+     * range is published by each add, as a reader would see it then.
+     */
+    @Test
+    void mergedRangeIsPublishedBeforeTheRangesItAbsorbsAreRemoved() {
+        Merges merges = Merges.random(300, 2025);
+        PublishingRanges ranges = new PublishingRanges();
+        MutableLongRangeSet set = new MutableLongRangeSet(ranges);
+
+        int[] finished = { 0 };
+        ranges.onPut = () -> {
+            for (Range<Long> added : merges.adds().subList(0, finished[0]))
+                for (long value : new long[] { added.getMinimum(), (added.getMinimum() + added.getMaximum()) / 2, added.getMaximum() })
+                    assertTrue(set.contains(value), () -> "%d was lost during add %d".formatted(value, finished[0] + 1));
+            for (Range<Long> gap : merges.neverAdded())
+                for (long value : new long[] { gap.getMinimum(), gap.getMaximum() })
+                    assertFalse(set.contains(value), () -> "%d was found but never added".formatted(value));
+        };
+
+        for (Range<Long> range : merges.adds()) {
+            set.add(range);
+            finished[0]++;
+        }
+        ranges.onPut.run();
+        assertEquals(merges.neverAdded().size() + 1, set.rangeCount());
+    }
+
+
+
+    /**
+     * @param bounds The inclusive start and end of each range expected in the
+     *            set, in order.
+     */
+    private static void assertRanges(MutableLongRangeSet set, long... bounds) {
+        List<Range<Long>> expected = new ArrayList<>();
+        for (int i = 0; i < bounds.length; i += 2)
+            expected.add(Range.of(bounds[i], bounds[i + 1]));
+        assertEquals(LongRangeSet.of(expected), set.toLongRangeSet());
+        assertEquals(expected.size(), set.rangeCount());
+    }
+
+
+
+    /**
+     * Ranges to add in an order which merges them into ever larger ranges:
+     * blocks at 0-9, 20-29, and so on, in a random order, then the gaps after
+     * them, except every third one, also in a random order, and now and then
+     * a range which spans several blocks, absorbing the ranges within it.
+     *
+     * @param adds The ranges to add, in order.
+     * @param neverAdded The gaps which are never filled.
+     */
+    private record Merges(List<Range<Long>> adds, List<Range<Long>> neverAdded) {
+
+        static Merges random(int blocks, long seed) {
+            Random random = new Random(seed);
+
+            List<Range<Long>> adds = new ArrayList<>();
+            for (int block = 0; block < blocks; block++)
+                adds.add(Range.of(block * 20L, block * 20L + 9));
+            Collections.shuffle(adds, random);
+
+            List<Range<Long>> gaps = new ArrayList<>();
+            List<Range<Long>> neverAdded = new ArrayList<>();
+            for (int block = 0; block < blocks; block++)
+                (block % 3 == 0 ? neverAdded : gaps).add(Range.of(block * 20L + 10, block * 20L + 19));
+            Collections.shuffle(gaps, random);
+            adds.addAll(gaps);
+
+            // From the second block after a gap which is never filled, to the start of the next one
+            for (int i = 0; i < blocks / 10; i++) {
+                int block = 3 * random.nextInt(blocks / 3 - 5) + 1;
+                adds.add(random.nextInt(adds.size() - blocks) + blocks, Range.of(block * 20L, block * 20L + 49));
+            }
+
+            return new Merges(adds, neverAdded);
+        }
+    }
+
+
+
+    /**
+     * The ranges of a concurrent set, which runs a check just before and just
+     * after each range is put into them.
+     */
+    @SuppressWarnings("serial")
+    private static final class PublishingRanges extends ConcurrentSkipListMap<Long, Long> {
+
+        private Runnable onPut = () -> {
+        };
+
+
+
+        @Override
+        public Long put(Long start, Long end) {
+            onPut.run();
+            Long previous = super.put(start, end);
+            onPut.run();
+            return previous;
+        }
+    }
+
+}
@@ -0,0 +1,196 @@
+package aoc._2025;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Named.named;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Named;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import aoc.FileUtils;
+import aoc.Puzzle;
+import aoc.SearchContext;
+
+/**
+ * Checks each part of each day against the expected answers, for the example
+ * input and for the real input, and that each part solves the real input
+ * within its time budget.
+ * <p>
+ * The budgets are about ten times what each part takes on a warmed up JVM
+ * (see {@code perf/baseline.json}), with a floor which allows for the JIT
+ * compiler, so a part only fails its budget if it has become a lot slower.
+ * Day09 and Day10 part 2 are left out of the real input checks, since they
+ * don't finish in a reasonable time.
+ *
+ * @author Paul Cormier
+ */
+class DaysTest {
+
+    private static final List<String> DAY11_PART2_EXAMPLE = """
+        svr: aaa bbb
+        aaa: fft
+        fft: ccc
+        bbb: tty
+        tty: ccc
+        ccc: ddd eee
+        ddd: hub
+        hub: fff
+        eee: dac
+        dac: fff
+        fff: ggg hhh
+        ggg: out
+        hhh: out
+        """.lines()
+           .toList();
+
+
+
+    static Stream<Arguments> examples() {
+        return Stream.of(arguments(day(new Day01()), 1, 3L),
+                         arguments(day(new Day01()), 2, 6L),
+                         arguments(day(new Day02()), 1, 1_227_775_554L),
+                         arguments(day(new Day02()), 2, 4_174_379_265L),
+                         arguments(day(new Day03()), 1, 357L),
+                         arguments(day(new Day03()), 2, 3_121_910_778_619L),
+                         arguments(day(new Day04()), 1, 13L),
+                         arguments(day(new Day04()), 2, 43L),
+                         arguments(day(new Day05()), 1, 3L),
+                         arguments(day(new Day05()), 2, 14L),
+                         arguments(day(new Day06()), 1, 4_277_556L),
+                         arguments(day(new Day06()), 2, 3_263_827L),
+                         arguments(day(new Day07()), 1, 21L),
+                         arguments(day(new Day07()), 2, 40L),
+                         arguments(day(new Day08(10)), 1, 40L),
+                         arguments(day(new Day08(10)), 2, 25_272L),
+                         arguments(day(new Day09()), 1, 50L),
+                         arguments(day(new Day09()), 2, 24L),
+                         arguments(day(new Day10()), 1, 7L),
+                         arguments(day(new Day10()), 2, 33L),
+                         arguments(day(new Day11()), 1, 5L));
+    }
+
+
+
+    @ParameterizedTest(name = "{0} part {1}")
+    @MethodSource
+    void examples(Puzzle<Object> puzzle, int part, long expected) {
+        Object input = puzzle.parse(FileUtils.readFile(puzzle.testInputFile()));
+        assertEquals(expected, solve(puzzle, part, input));
+    }
+
+
+
+    /**
+     * Day11 part 2 has its own example, which part 1 can't solve, because it
+     * has no "you" device.
+     */
+    @Test
+    void day11Part2Example() {
+        Day11 puzzle = new Day11();
+        assertEquals(2, puzzle.part2(puzzle.parse(DAY11_PART2_EXAMPLE)));
+    }
+
+
+
+    /**
+     * Day05's streaming mode checks each ID against the ranges which came
+     * before it, however the ranges and IDs are interleaved, and with any
+     * whitespace around the lines.
+     */
+    @Test
+    void day05StreamingInterleaved() {
+        var lines = Stream.of("3-5 ", "4", " 1", "", "10-14\t", "12", "1", "16-20", "17", "4 ", "21", "4");
+        var count = Day05.countFresh(lines, true);
+
+        assertEquals(8, count.checked());
+        assertEquals(5, count.fresh());
+        assertEquals(3, count.distinctFresh());
+    }
+
+
+
+    /**
+     * Day05's input may have only the ranges, with no ingredient IDs after
+     * them.
+     */
+    @Test
+    void day05RangesOnly() {
+        Day05 puzzle = new Day05();
+        var inventory = puzzle.parse(List.of("3-5", "10-14", ""));
+
+        assertEquals(0, puzzle.part1(inventory));
+        assertEquals(8, puzzle.part2(inventory));
+    }
+
+
+
+    static Stream<Arguments> realInput() {
+        return Stream.of(arguments(day(new Day01()), 1, 1007L, Duration.ofMillis(500)),
+                         arguments(day(new Day01()), 2, 5820L, Duration.ofMillis(500)),
+                         arguments(day(new Day02()), 1, 19_219_508_902L, Duration.ofMillis(500)),
+                         arguments(day(new Day02()), 2, 27_180_728_081L, Duration.ofMillis(500)),
+                         arguments(day(new Day03()), 1, 17_281L, Duration.ofMillis(500)),
+                         arguments(day(new Day03()), 2, 171_388_730_430_281L, Duration.ofMillis(500)),
+                         arguments(day(new Day04()), 1, 1480L, Duration.ofMillis(500)),
+                         arguments(day(new Day04()), 2, 8899L, Duration.ofSeconds(3)),
+                         arguments(day(new Day05()), 1, 640L, Duration.ofMillis(500)),
+                         arguments(day(new Day05()), 2, 365_804_144_481_581L, Duration.ofMillis(500)),
+                         arguments(day(new Day06()), 1, 6_343_365_546_996L, Duration.ofMillis(500)),
+                         arguments(day(new Day06()), 2, 11_136_895_955_912L, Duration.ofMillis(500)),
+                         arguments(day(new Day07()), 1, 1504L, Duration.ofMillis(500)),
+                         arguments(day(new Day07()), 2, 5_137_133_207_830L, Duration.ofMillis(500)),
+                         arguments(day(new Day08()), 1, 330_786L, Duration.ofMillis(500)),
+                         arguments(day(new Day08()), 2, 3_276_581_616L, Duration.ofSeconds(2)),
+                         arguments(day(new Day09()), 1, 4_754_955_192L, Duration.ofSeconds(3)),
+                         arguments(day(new Day10()), 1, 522L, Duration.ofSeconds(2)),
+                         arguments(day(new Day11()), 1, 523L, Duration.ofMillis(500)),
+                         arguments(day(new Day11()), 2, 517_315_308_154_944L, Duration.ofSeconds(50)));
+    }
+
+
+
+    /**
+     * The input is parsed outside of the budget, which only covers the part.
+     * The part runs with a {@link SearchContext} whose deadline is the budget,
+     * which is cancelled once the part has finished or been abandoned, so a
+     * search which ignores the interrupt doesn't run on into the next test.
+     */
+    @ParameterizedTest(name = "{0} part {1} within {3}")
+    @MethodSource
+    void realInput(Puzzle<Object> puzzle, int part, long expected, Duration budget) {
+        Object input = puzzle.parse(FileUtils.readFile(puzzle.inputFile()));
+        long result;
+        try (SearchContext context = SearchContext.withDeadline(puzzle.getClass().getSimpleName() + " part " + part, budget)) {
+            try {
+                result = assertTimeoutPreemptively(budget, () -> context.call(() -> solve(puzzle, part, input)));
+            } finally {
+                context.cancel();
+            }
+        }
+        assertEquals(expected, result);
+    }
+
+
+
+    /**
+     * @return The puzzle, named for its day in the test names.
+     */
+    private static Named<Puzzle<?>> day(Puzzle<?> puzzle) {
+        return named(puzzle.getClass().getSimpleName(), puzzle);
+    }
+
+
+
+    private static long solve(Puzzle<Object> puzzle, int part, Object input) {
+        return part == 1 ? puzzle.part1(input) : puzzle.part2(input);
+    }
+
+}